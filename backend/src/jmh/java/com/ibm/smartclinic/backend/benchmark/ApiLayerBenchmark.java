@@ -0,0 +1,134 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.smartclinic.backend.exception.ApiError;
+import com.ibm.smartclinic.backend.exception.GlobalExceptionHandler;
+import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
+import com.ibm.smartclinic.backend.security.TokenService;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * The web layer in process, through MockMvc with the security filter chain:
+ * {@code bookAppointment} is {@code POST /api/appointments} for a fresh slot (JWT filter, bean
+ * validation, controller DTO mapping and JSON rendering around the service call);
+ * {@code notFound} and {@code validationError} render {@link GlobalExceptionHandler} responses
+ * for a missing appointment and an empty booking body. {@code renderError} is the handler plus
+ * JSON serialization alone. Handler WARN lines are silenced so the console is not the bottleneck.
+ * The whole MVC stack takes long to reach steady state, hence the longer warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+public class ApiLayerBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2032, 1, 1, 0, 0);
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private GlobalExceptionHandler exceptionHandler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest errorRequest;
+    private String patientAuthorization;
+    private String doctorAuthorization;
+    private long firstDoctor;
+    private long booked;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("logging.level.com.ibm.smartclinic.backend.exception", "ERROR");
+        context = BenchmarkContext.start("api_layer_bench");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SyntheticRows.seedPeople(jdbc, DOCTORS, 1);
+        firstDoctor = jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class);
+
+        TokenService tokenService = context.getBean(TokenService.class);
+        patientAuthorization = authorization(jdbc, tokenService, "patient", "PATIENT");
+        doctorAuthorization = authorization(jdbc, tokenService, "doctor", "DOCTOR");
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        exceptionHandler = context.getBean(GlobalExceptionHandler.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        errorRequest = new MockHttpServletRequest("POST", "/api/appointments/999999999/complete");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.clearProperty("logging.level.com.ibm.smartclinic.backend.exception");
+    }
+
+    @Benchmark
+    public String bookAppointment() throws Exception {
+        long n = booked++;
+        String body = "{\"doctorId\":" + (firstDoctor + n % DOCTORS)
+                + ",\"appointmentTime\":\"" + FIRST_SLOT.plusMinutes(15L * (n / DOCTORS)) + "\"}";
+        return perform("/api/appointments", patientAuthorization, body, 201);
+    }
+
+    @Benchmark
+    public String notFound() throws Exception {
+        return perform("/api/appointments/999999999/complete", doctorAuthorization, null, 404);
+    }
+
+    @Benchmark
+    public String validationError() throws Exception {
+        return perform("/api/appointments", patientAuthorization, "{}", 400);
+    }
+
+    @Benchmark
+    public byte[] renderError() throws Exception {
+        ResponseEntity<ApiError> response = exceptionHandler.handleResourceNotFound(
+                new ResourceNotFoundException("Appointment", "id", 999_999_999L), errorRequest);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    private String perform(String path, String authorization, String body, int expectedStatus) throws Exception {
+        var request = post(path).header("Authorization", authorization);
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getResponse().getStatus() != expectedStatus) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus()
+                    + ": " + result.getResponse().getContentAsString());
+        }
+        return result.getResponse().getContentAsString();
+    }
+
+    private static String authorization(JdbcTemplate jdbc, TokenService tokenService, String table, String role) {
+        return jdbc.queryForObject("SELECT e.email, u.id, e.id FROM " + table + " e "
+                        + "JOIN user_identity u ON u.email = e.email ORDER BY e.id FETCH FIRST 1 ROWS ONLY",
+                (rs, row) -> "Bearer " + tokenService.generateToken(rs.getString(1), role, rs.getLong(2), rs.getLong(3)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Doctor calendar lookup latency as the appointment table grows. With the
+ * (doctor_id, appointment_time) index the score should stay flat across row counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AppointmentCalendarBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final int PATIENTS = 1_000;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Param({"10000", "100000", "1000000"})
+    public int appointmentRows;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private long doctorId;
+    private LocalDate day;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("calendar_bench_" + appointmentRows);
+        appointmentService = context.getBean(AppointmentService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SyntheticRows.seedPeople(jdbc, DOCTORS, PATIENTS);
+        seedAppointments(jdbc);
+        doctorId = jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class);
+        day = FIRST_SLOT.toLocalDate().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Appointment> doctorDayLookup() {
+        return appointmentService.getAppointmentsForDoctorOnDate(doctorId, day);
+    }
+
+    private void seedAppointments(JdbcTemplate jdbc) {
+        Long firstDoctor = jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class);
+        Long firstPatient = jdbc.queryForObject("SELECT MIN(id) FROM patient", Long.class);
+        List<Object[]> batch = new ArrayList<>(SyntheticRows.BATCH_SIZE);
+        for (int i = 0; i < appointmentRows; i++) {
+            // Each doctor gets consecutive quarter-hour slots so (doctor, time) never repeats
+            LocalDateTime time = FIRST_SLOT.plusMinutes(15L * (i / DOCTORS));
+            batch.add(new Object[] {
+                    Timestamp.valueOf(time), firstDoctor + (i % DOCTORS), firstPatient + (i % PATIENTS)
+            });
+            if (batch.size() == SyntheticRows.BATCH_SIZE) {
+                insertAppointments(jdbc, batch);
+                batch.clear();
+            }
+        }
+        insertAppointments(jdbc, batch);
+    }
+
+    private void insertAppointments(JdbcTemplate jdbc, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO appointment (appointment_time, doctor_id, patient_id, status) "
+                    + "VALUES (?, ?, ?, 'BOOKED')", batch);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.dto.DoctorAvailabilityDto;
+import com.ibm.smartclinic.backend.service.AvailabilitySearchService;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Speciality-wide earliest-slot search over 200 doctors and 14 days, sampled so the
+ * p99 can be checked against the 50 ms target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AvailabilitySearchBenchmark {
+
+    private static final int DOCTORS = 200;
+    private static final int PATIENTS = 100;
+    private static final int DAYS = 14;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilitySearchService searchService;
+    private LocalDate from;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("availability_search_bench");
+        searchService = context.getBean(AvailabilitySearchService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SyntheticRows.seedPeople(jdbc, DOCTORS, PATIENTS);
+        from = LocalDate.now().plusDays(1);
+        seedWorkingTimesAndBookings(jdbc);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DoctorAvailabilityDto> earliestSlotsAcrossSpeciality() {
+        return searchService.search("cardiology", from, from.plusDays(DAYS - 1),
+                LocalTime.of(9, 0), LocalTime.of(17, 0), 3);
+    }
+
+    private void seedWorkingTimesAndBookings(JdbcTemplate jdbc) {
+        Long firstDoctor = jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class);
+        Long firstPatient = jdbc.queryForObject("SELECT MIN(id) FROM patient", Long.class);
+        List<Object[]> times = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        for (int d = 0; d < DOCTORS; d++) {
+            long doctorId = firstDoctor + d;
+            for (LocalTime time = LocalTime.of(8, 0); time.isBefore(LocalTime.of(18, 0)); time = time.plusMinutes(15)) {
+                times.add(new Object[] {doctorId, Time.valueOf(time)});
+            }
+            // Fully book the first days so the earliest free slot sits a few days into the range
+            for (int day = 0; day < d % DAYS; day++) {
+                for (LocalTime time = LocalTime.of(8, 0); time.isBefore(LocalTime.of(18, 0)); time = time.plusMinutes(15)) {
+                    bookings.add(new Object[] {
+                            Timestamp.valueOf(from.plusDays(day).atTime(time)), doctorId, firstPatient + (bookings.size() % PATIENTS)
+                    });
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO doctor_available_times (doctor_id, available_times) VALUES (?, ?)", times);
+        jdbc.batchUpdate("INSERT INTO appointment (appointment_time, doctor_id, patient_id, status) "
+                + "VALUES (?, ?, ?, 'BOOKED')", bookings);
+    }
+}
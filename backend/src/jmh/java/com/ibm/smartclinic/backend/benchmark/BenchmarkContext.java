@@ -0,0 +1,26 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the backend against a private in-memory H2 database for a benchmark trial.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraProfiles) {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .profiles(extraProfiles)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+                .run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.dto.AppointmentRequestDto;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.PatientRepository;
+import com.ibm.smartclinic.backend.repository.UserIdentityRepository;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Insert throughput in rows/sec. Registration persists identity + patient pairs in one transaction
+ * with Hibernate's JDBC batch size set to {@code batchSize} (1 behaves like the former IDENTITY
+ * mapping: one round trip per row). Booking compares one request per appointment with the batch
+ * booking endpoint's service call for the same number of slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 6, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 100;
+    private static final int DOCTORS = 50;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private UserIdentityRepository identityRepository;
+    private PatientRepository patientRepository;
+    private AppointmentService appointmentService;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+    private Patient patient;
+    private long firstDoctor;
+    private long registered;
+    private long slot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.jpa.properties.hibernate.jdbc.batch_size", String.valueOf(batchSize));
+        context = BenchmarkContext.start("bulk_insert_bench_" + batchSize);
+        identityRepository = context.getBean(UserIdentityRepository.class);
+        patientRepository = context.getBean(PatientRepository.class);
+        appointmentService = context.getBean(AppointmentService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SyntheticRows.seedPeople(jdbc, DOCTORS, 1);
+        firstDoctor = jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class);
+        patient = entityManager.find(Patient.class, jdbc.queryForObject("SELECT MIN(id) FROM patient", Long.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.clearProperty("spring.jpa.properties.hibernate.jdbc.batch_size");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void registerPatients() {
+        transaction.executeWithoutResult(status -> {
+            List<UserIdentity> identities = new ArrayList<>(ROWS);
+            List<Patient> patients = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                String email = "bulk.patient" + registered++ + "@clinic.test";
+                UserIdentity identity = new UserIdentity();
+                identity.setEmail(email);
+                identity.setPasswordHash(SyntheticRows.PASSWORD_HASH);
+                identity.setRole(UserRole.PATIENT);
+                identities.add(identity);
+                Patient row = new Patient();
+                row.setName("Bulk Patient");
+                row.setEmail(email);
+                patients.add(row);
+            }
+            identityRepository.saveAll(identities);
+            patientRepository.saveAll(patients);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void bookOneByOne() {
+        for (int i = 0; i < ROWS; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(entityManager.getReference(Doctor.class, firstDoctor + (slot % DOCTORS)));
+            appointment.setPatient(patient);
+            appointment.setAppointmentTime(nextSlot());
+            appointmentService.bookAppointment(appointment);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object bookBatch() {
+        List<AppointmentRequestDto> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            AppointmentRequestDto item = new AppointmentRequestDto();
+            item.setDoctorId(firstDoctor + (slot % DOCTORS));
+            item.setAppointmentTime(nextSlot());
+            items.add(item);
+        }
+        return appointmentService.bookAppointments(patient, items);
+    }
+
+    private LocalDateTime nextSlot() {
+        // Each doctor advances one quarter-hour every DOCTORS bookings, so (doctor, time) never repeats
+        return FIRST_SLOT.plusMinutes(15L * (slot++ / DOCTORS));
+    }
+}
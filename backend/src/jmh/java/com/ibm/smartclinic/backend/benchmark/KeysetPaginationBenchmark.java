@@ -0,0 +1,99 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.KeysetCursor;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fetching page N of one patient's appointment history (20 rows per page, 10,000 pages) with
+ * offset pagination versus the keyset cursor. Keyset latency should not depend on the page number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KeysetPaginationBenchmark {
+
+    private static final int DOCTORS = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGES = 10_000;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Param({"1", "100", "10000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private long patientId;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("keyset_bench_" + page);
+        appointmentService = context.getBean(AppointmentService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SyntheticRows.seedPeople(jdbc, DOCTORS, 1);
+        patientId = jdbc.queryForObject("SELECT MIN(id) FROM patient", Long.class);
+        seedHistory(jdbc, jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class));
+        if (page > 1) {
+            // Cursor a client would hold after reading the previous page
+            cursor = jdbc.queryForObject("SELECT appointment_time, id FROM appointment WHERE patient_id = ? "
+                            + "ORDER BY appointment_time, id LIMIT 1 OFFSET ?",
+                    (rs, n) -> KeysetCursor.ofTimeAndId(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                    patientId, (page - 1) * PAGE_SIZE - 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object offset() {
+        return appointmentService.getAppointmentsByPatientId(patientId,
+                PageRequest.of(page - 1, PAGE_SIZE, Sort.by("appointmentTime", "id")));
+    }
+
+    @Benchmark
+    public Object keyset() {
+        return appointmentService.scrollAppointmentsByPatientId(patientId, cursor, PAGE_SIZE, false);
+    }
+
+    private void seedHistory(JdbcTemplate jdbc, long firstDoctor) {
+        List<Object[]> batch = new ArrayList<>(SyntheticRows.BATCH_SIZE);
+        for (int i = 0; i < PAGES * PAGE_SIZE; i++) {
+            batch.add(new Object[] {
+                    Timestamp.valueOf(FIRST_SLOT.plusMinutes(15L * (i / DOCTORS))), firstDoctor + (i % DOCTORS), patientId
+            });
+            if (batch.size() == SyntheticRows.BATCH_SIZE) {
+                jdbc.batchUpdate("INSERT INTO appointment (appointment_time, doctor_id, patient_id, status) "
+                        + "VALUES (?, ?, ?, 'BOOKED')", batch);
+                batch.clear();
+            }
+        }
+    }
+}
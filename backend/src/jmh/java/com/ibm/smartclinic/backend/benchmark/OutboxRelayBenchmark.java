@@ -0,0 +1,128 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.event.OutboxRelay;
+import com.ibm.smartclinic.backend.event.OutboxWriter;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Outbox throughput in events/sec. {@code relay} drains {@value #EVENTS} pending events through
+ * the relay in batches of {@code batchSize}, with no sink or with the NDJSON file sink; the events
+ * are inserted before each invocation and are not timed. {@code append} measures the write side:
+ * {@value #APPENDED} status-change events spread over the seeded doctors, in one transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OutboxRelayBenchmark {
+
+    private static final int EVENTS = 10_000;
+    private static final int APPENDED = 100;
+    private static final int DOCTORS = 50;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    @Param({"50", "500"})
+    public int batchSize;
+
+    @Param({"none", "file"})
+    public String sink;
+
+    private ConfigurableApplicationContext context;
+    private OutboxRelay relay;
+    private OutboxWriter writer;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private Path sinkFile;
+    private long firstDoctor;
+    private long sequence;
+    private long appended;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        sinkFile = Files.createTempFile("outbox-bench", ".ndjson");
+        System.setProperty("events.relay.batch-size", String.valueOf(batchSize));
+        System.setProperty("events.sink", sink);
+        System.setProperty("events.sink.file.path", sinkFile.toString());
+        context = BenchmarkContext.start("outbox_bench_" + batchSize + "_" + sink);
+        relay = context.getBean(OutboxRelay.class);
+        writer = context.getBean(OutboxWriter.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        SyntheticRows.seedPeople(jdbc, DOCTORS, 1);
+        firstDoctor = jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        System.clearProperty("events.relay.batch-size");
+        System.clearProperty("events.sink");
+        System.clearProperty("events.sink.file.path");
+        Files.deleteIfExists(sinkFile);
+    }
+
+    /**
+     * Inserts {@value #EVENTS} unpublished events before each relay invocation.
+     */
+    @State(Scope.Thread)
+    public static class Pending {
+
+        @Setup(Level.Invocation)
+        public void seed(OutboxRelayBenchmark bench) {
+            List<Object[]> rows = new ArrayList<>(EVENTS);
+            for (int i = 0; i < EVENTS; i++) {
+                long id = bench.sequence++;
+                long doctorId = bench.firstDoctor + (id % DOCTORS);
+                rows.add(new Object[] {doctorId, id, "APPOINTMENT_COMPLETED", id,
+                        "{\"appointmentId\":" + id + ",\"doctorId\":" + doctorId
+                                + ",\"appointmentTime\":\"2030-01-01T08:00:00\",\"status\":\"COMPLETED\"}"});
+            }
+            bench.jdbc.batchUpdate("INSERT INTO outbox_event (doctor_id, doctor_sequence, event_type, aggregate_id, payload) "
+                    + "VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int relay(Pending pending) {
+        return relay.relayPending();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(APPENDED)
+    public void append() {
+        List<Object[]> changed = new ArrayList<>(APPENDED);
+        for (int i = 0; i < APPENDED; i++) {
+            long id = appended++;
+            changed.add(new Object[] {id, firstDoctor + (id % DOCTORS), FIRST_SLOT.plusMinutes(15L * id)});
+        }
+        transaction.executeWithoutResult(status -> writer.appointmentStatusChanged(changed, AppointmentStatus.COMPLETED));
+    }
+}
@@ -0,0 +1,110 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.dto.PrescriptionResponseDto;
+import com.ibm.smartclinic.backend.model.Prescription;
+import com.ibm.smartclinic.backend.service.PrescriptionService;
+import jakarta.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One patient's prescription page loaded as entities and mapped (the previous read path) versus
+ * the DTO projections. Each operation is one request of {@code rows} prescriptions, so rows/sec is
+ * the score times {@code rows}; run with the default {@code gc} profiler, {@code gc.alloc.rate.norm}
+ * is the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PrescriptionReadBenchmark {
+
+    private static final int DOCTORS = 20;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PrescriptionService prescriptionService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private long patientId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("prescription_bench_" + rows);
+        prescriptionService = context.getBean(PrescriptionService.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SyntheticRows.seedPeople(jdbc, DOCTORS, 1);
+        patientId = jdbc.queryForObject("SELECT MIN(id) FROM patient", Long.class);
+        seedPrescriptions(jdbc, jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PrescriptionResponseDto> entityThenMap() {
+        return readOnly.execute(status -> entityManager.createQuery(
+                        "select p from Prescription p where p.appointment.patient.id = :patientId order by p.id desc",
+                        Prescription.class)
+                .setParameter("patientId", patientId)
+                .setMaxResults(rows)
+                .getResultList()
+                .stream()
+                .map(p -> new PrescriptionResponseDto(p.getId(), p.getNotes(), p.getAppointment().getId()))
+                .toList());
+    }
+
+    @Benchmark
+    public Object projection() {
+        return prescriptionService.getPrescriptionsForPatient(patientId, false, PageRequest.of(0, rows));
+    }
+
+    @Benchmark
+    public Object projectionWithDetails() {
+        return prescriptionService.getPrescriptionsForPatient(patientId, true, PageRequest.of(0, rows));
+    }
+
+    private void seedPrescriptions(JdbcTemplate jdbc, long firstDoctor) {
+        List<Object[]> appointments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            appointments.add(new Object[] {
+                    Timestamp.valueOf(FIRST_SLOT.plusMinutes(15L * i)), firstDoctor + (i % DOCTORS), patientId
+            });
+        }
+        jdbc.batchUpdate("INSERT INTO appointment (appointment_time, doctor_id, patient_id, status) "
+                + "VALUES (?, ?, ?, 'COMPLETED')", appointments);
+        jdbc.update("INSERT INTO prescription (appointment_id, notes) "
+                + "SELECT id, 'Take one tablet twice daily with food' FROM appointment WHERE patient_id = ?", patientId);
+    }
+}
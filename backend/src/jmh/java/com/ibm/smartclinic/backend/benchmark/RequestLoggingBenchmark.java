@@ -0,0 +1,121 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.ibm.smartclinic.backend.logging.RequestIdGenerator;
+import com.ibm.smartclinic.backend.logging.RequestLoggingInterceptor;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Request-thread cost of the access log: {@link RequestLoggingInterceptor#preHandle} plus
+ * {@code afterCompletion} for a request without {@code X-Request-ID}, writing to a file either
+ * synchronously ({@code sync}, the former setup) or through the async appender, which blocks
+ * ({@code async-block}) or drops ({@code async-drop}) when its queue is full. {@code sampleRate}
+ * is the fraction of 2xx lines kept. {@code uuid} and {@code generatedId} compare request-id costs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestLoggingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+
+        @Param({"sync", "async-block", "async-drop"})
+        public String appender;
+
+        @Param({"1.0", "0.1"})
+        public double sampleRate;
+
+        private RequestLoggingInterceptor interceptor;
+        private Logger logger;
+        private Appender<ILoggingEvent> attached;
+        private Path logFile;
+
+        @Setup
+        public void setUp() throws IOException {
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            logFile = Files.createTempFile("access-bench", ".log");
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+            encoder.start();
+            FileAppender<ILoggingEvent> file = new FileAppender<>();
+            file.setContext(context);
+            file.setFile(logFile.toString());
+            file.setEncoder(encoder);
+            file.start();
+            attached = file;
+            if (appender.startsWith("async")) {
+                AsyncAppender async = new AsyncAppender();
+                async.setContext(context);
+                async.setQueueSize(8192);
+                async.setDiscardingThreshold(0);
+                async.setNeverBlock("async-drop".equals(appender));
+                async.addAppender(file);
+                async.start();
+                attached = async;
+            }
+            logger = context.getLogger(RequestLoggingInterceptor.class);
+            logger.detachAndStopAllAppenders();
+            logger.setAdditive(false);
+            logger.setLevel(ch.qos.logback.classic.Level.INFO);
+            logger.addAppender(attached);
+            interceptor = new RequestLoggingInterceptor(sampleRate);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            logger.detachAndStopAllAppenders();
+            Files.deleteIfExists(logFile);
+        }
+    }
+
+    @Benchmark
+    public int logRequest(Pipeline pipeline) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patient/profile");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        pipeline.interceptor.preHandle(request, response, this);
+        response.setStatus(200);
+        pipeline.interceptor.afterCompletion(request, response, this, null);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String generatedId() {
+        return RequestIdGenerator.next();
+    }
+}
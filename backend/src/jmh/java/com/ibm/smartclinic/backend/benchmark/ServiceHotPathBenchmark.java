@@ -0,0 +1,85 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.DoctorRepository;
+import com.ibm.smartclinic.backend.repository.PatientRepository;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.IdentityService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Service-level hot paths against embedded H2. {@code authenticate} is a successful patient login
+ * (identity lookup plus one BCrypt verification on the hashing pool); {@code bookAppointment}
+ * books a fresh slot per call, round-robin over the seeded doctors, including the rollup,
+ * leaderboard sketch and outbox writes made in the same transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceHotPathBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2031, 1, 1, 0, 0);
+    private static final String LOGIN_EMAIL = "bench.login@clinic.test";
+
+    private ConfigurableApplicationContext context;
+    private IdentityService identityService;
+    private AppointmentService appointmentService;
+    private List<Doctor> doctors;
+    private Patient patient;
+    private long booked;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("service_hot_path_bench");
+        SyntheticRows.seedPeople(context.getBean(JdbcTemplate.class), DOCTORS, 1);
+        identityService = context.getBean(IdentityService.class);
+        appointmentService = context.getBean(AppointmentService.class);
+        doctors = context.getBean(DoctorRepository.class).findAll();
+        patient = context.getBean(PatientRepository.class).findAll().get(0);
+        identityService.registerIdentity(LOGIN_EMAIL, "password", UserRole.PATIENT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserIdentity authenticate() {
+        return identityService.authenticate(LOGIN_EMAIL, "password", UserRole.PATIENT);
+    }
+
+    @Benchmark
+    public Appointment bookAppointment() {
+        long n = booked++;
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(doctors.get((int) (n % DOCTORS)));
+        appointment.setPatient(patient);
+        appointment.setAppointmentTime(FIRST_SLOT.plusMinutes(15L * (n / DOCTORS)));
+        return appointmentService.bookAppointment(appointment);
+    }
+}
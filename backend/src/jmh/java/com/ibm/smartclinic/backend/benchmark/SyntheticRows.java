@@ -0,0 +1,49 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Minimal identity/doctor/patient rows for benchmarks that need foreign keys to resolve.
+ */
+final class SyntheticRows {
+
+    static final int BATCH_SIZE = 1_000;
+
+    // BCrypt hash of "password"; benchmarks never verify it
+    static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOHiOVFnk3Z4yKc0/4B2O8abw5Kc8p1g2";
+
+    private SyntheticRows() {
+    }
+
+    static void seedPeople(JdbcTemplate jdbc, int doctors, int patients) {
+        List<Object[]> identities = new ArrayList<>();
+        List<Object[]> doctorRows = new ArrayList<>();
+        for (int i = 0; i < doctors; i++) {
+            String email = "bench.doctor" + i + "@clinic.test";
+            identities.add(new Object[] {email, PASSWORD_HASH, "DOCTOR"});
+            doctorRows.add(new Object[] {"Dr Bench " + i, email, "Cardiology", PASSWORD_HASH});
+        }
+        List<Object[]> patientRows = new ArrayList<>();
+        for (int i = 0; i < patients; i++) {
+            String email = "bench.patient" + i + "@clinic.test";
+            identities.add(new Object[] {email, PASSWORD_HASH, "PATIENT"});
+            patientRows.add(new Object[] {"Bench Patient " + i, email, PASSWORD_HASH});
+        }
+        jdbc.batchUpdate("INSERT INTO user_identity (email, password_hash, role) VALUES (?, ?, ?)", identities);
+        jdbc.batchUpdate("INSERT INTO doctor (name, email, speciality, password) VALUES (?, ?, ?, ?)", doctorRows);
+        jdbc.batchUpdate("INSERT INTO patient (name, email, password) VALUES (?, ?, ?)", patientRows);
+        restartSequences(jdbc);
+    }
+
+    /**
+     * Raw inserts take ids from the IDENTITY columns; move the pooled id sequences past them so
+     * entities persisted afterwards through Hibernate do not collide.
+     */
+    static void restartSequences(JdbcTemplate jdbc) {
+        for (String table : new String[] {"user_identity", "doctor", "patient", "appointment", "prescription"}) {
+            jdbc.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM " + table + ")");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.security.TokenService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * End-to-end load with 1,024 concurrent clients, each issuing blocking
+ * {@code GET /api/patient/appointments} calls that spend most of their time in JDBC, against the
+ * default platform-thread server and the {@code virtual-threads} profile. The virtual mode only
+ * differs on JDK 21+; on older runtimes both params measure the platform pool. Client and server
+ * share the machine, so run it on a host with several cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xss256k", "-Djdk.httpclient.keepalive.timeout=60"})
+@Threads(1024)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class ThreadingModeLoadBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final int PATIENTS = 1_000;
+    private static final int APPOINTMENTS_PER_PATIENT = 5;
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI uri;
+    private List<String> authorizations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The default backlog of 100 drops most of 1,024 simultaneous connects into SYN retransmits
+        System.setProperty("server.tomcat.accept-count", "2048");
+        context = "virtual".equals(threading)
+                ? BenchmarkContext.start("threading_load_bench", "virtual-threads")
+                : BenchmarkContext.start("threading_load_bench");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SyntheticRows.seedPeople(jdbc, DOCTORS, PATIENTS);
+        seedAppointments(jdbc);
+
+        TokenService tokenService = context.getBean(TokenService.class);
+        authorizations = new ArrayList<>();
+        jdbc.query("SELECT p.id, p.email, u.id FROM patient p JOIN user_identity u ON u.email = p.email",
+                rs -> {
+                    authorizations.add("Bearer " + tokenService.generateToken(
+                            rs.getString(2), "PATIENT", rs.getLong(3), rs.getLong(1)));
+                });
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        uri = URI.create("http://localhost:" + port + "/api/patient/appointments");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int patientAppointments() throws Exception {
+        String authorization = authorizations.get(ThreadLocalRandom.current().nextInt(authorizations.size()));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    private void seedAppointments(JdbcTemplate jdbc) {
+        Long firstDoctor = jdbc.queryForObject("SELECT MIN(id) FROM doctor", Long.class);
+        Long firstPatient = jdbc.queryForObject("SELECT MIN(id) FROM patient", Long.class);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int p = 0; p < PATIENTS; p++) {
+            for (int a = 0; a < APPOINTMENTS_PER_PATIENT; a++) {
+                int slot = p * APPOINTMENTS_PER_PATIENT + a;
+                rows.add(new Object[] {
+                        Timestamp.valueOf(start.plusMinutes(15L * (slot / DOCTORS))),
+                        firstDoctor + (slot % DOCTORS),
+                        firstPatient + p
+                });
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO appointment (appointment_time, doctor_id, patient_id, status) "
+                + "VALUES (?, ?, ?, 'BOOKED')", rows);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.security.JwtAuthenticationFilter;
+import com.ibm.smartclinic.backend.security.TokenService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Throughput of {@link JwtAuthenticationFilter} for a client that replays the same bearer token,
+ * with the verified-claims cache disabled ({@code cold}) and enabled ({@code cached}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TokenFilterBenchmark {
+
+    @Param({"cold", "cached"})
+    public String mode;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        long cacheSize = "cached".equals(mode) ? 10_000 : 0;
+        TokenService tokenService = new TokenService("benchmark-secret", 3_600_000L, cacheSize, null);
+        filter = new JwtAuthenticationFilter(tokenService);
+        authorization = "Bearer " + tokenService.generateToken("bench@clinic.test", "PATIENT", 1L, 1L);
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patient/profile");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ibm.smartclinic.backend.benchmark;
+
+import com.ibm.smartclinic.backend.security.TokenService;
+import io.jsonwebtoken.Claims;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link TokenService} on its own: signing a token at login ({@code generateToken}) and verifying
+ * one per request ({@code parseClaims}) with the verified-claims cache disabled ({@code cold}) or
+ * hit every time ({@code cached}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TokenServiceBenchmark {
+
+    @Param({"cold", "cached"})
+    public String mode;
+
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        long cacheSize = "cached".equals(mode) ? 10_000 : 0;
+        tokenService = new TokenService("benchmark-secret", 3_600_000L, cacheSize, null);
+        token = tokenService.generateToken("bench@clinic.test", "PATIENT", 1L, 1L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken("bench@clinic.test", "PATIENT", 1L, 1L);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return tokenService.parseClaims(token);
+    }
+}
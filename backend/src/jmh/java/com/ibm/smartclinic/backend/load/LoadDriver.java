@@ -0,0 +1,357 @@
+package com.ibm.smartclinic.backend.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Closed-loop HTTP load against a running backend, replaying a mixed patient workload:
+ * {@code login} ({@code POST /api/patient/login}), {@code search}
+ * ({@code GET /api/doctors/availability/search}), {@code book} ({@code POST /api/appointments}
+ * for a slot returned by the last search) and {@code list} ({@code GET /api/patient/appointments}).
+ * <p>
+ * Each virtual user is a thread logged in as a dataset patient
+ * ({@code <label>.patient<n>@clinic.test}, see {@code ClinicDataGenerator}) with its own random
+ * stream derived from {@code seed}, so a run against the same dataset replays the same request
+ * sequence up to server-side timing. Latencies are recorded per thread after the warmup and
+ * merged at the end; a {@code 409} on booking is a lost race for the slot and counted as a
+ * conflict, not an error. Arguments are {@code key=value}; see {@link #DEFAULTS}.
+ */
+public final class LoadDriver {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("url", "http://localhost:8080");
+        DEFAULTS.put("users", "16");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("label", "gen");
+        DEFAULTS.put("patients", "20000");
+        DEFAULTS.put("password", "password");
+        DEFAULTS.put("seed", "42");
+        // Relative weights of login, search, book and list
+        DEFAULTS.put("mix", "5,40,15,40");
+        DEFAULTS.put("specialities", "General Practice,Pediatrics,Cardiology,Dermatology,Orthopedics,Gynecology");
+        DEFAULTS.put("horizon-days", "14");
+        DEFAULTS.put("think-ms", "0");
+        DEFAULTS.put("result", "");
+    }
+
+    private static final String[] OPERATIONS = {"login", "search", "book", "list"};
+    private static final int LOGIN = 0;
+    private static final int SEARCH = 1;
+    private static final int BOOK = 2;
+    private static final int LIST = 3;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Map<String, String> settings;
+    private final HttpClient client;
+    private final URI baseUri;
+    private final int[] mix;
+    private final String[] specialities;
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadDriver(Map<String, String> settings) {
+        this.settings = settings;
+        this.baseUri = URI.create(settings.get("url"));
+        this.mix = Arrays.stream(settings.get("mix").split(",")).mapToInt(w -> Integer.parseInt(w.trim())).toArray();
+        if (mix.length != OPERATIONS.length || Arrays.stream(mix).sum() <= 0) {
+            throw new IllegalArgumentException("mix needs four non-negative weights for login,search,book,list");
+        }
+        this.specialities = settings.get("specialities").split(",");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0 || !DEFAULTS.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Unknown argument " + arg + "; expected key=value with key in " + DEFAULTS.keySet());
+            }
+            if (eq < arg.length() - 1) {
+                settings.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        new LoadDriver(settings).run();
+    }
+
+    private void run() throws Exception {
+        int users = Integer.parseInt(settings.get("users"));
+        long warmupMillis = Long.parseLong(settings.get("warmup")) * 1000;
+        long durationMillis = Long.parseLong(settings.get("duration")) * 1000;
+        long seed = Long.parseLong(settings.get("seed"));
+        System.out.printf("Load: %d users against %s, %d s warmup, %d s measured, mix login/search/book/list=%s%n",
+                users, baseUri, warmupMillis / 1000, durationMillis / 1000, settings.get("mix"));
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            VirtualUser user = new VirtualUser(root.split());
+            virtualUsers.add(user);
+            Thread thread = new Thread(user, "load-user-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+        Thread.sleep(warmupMillis);
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(durationMillis);
+        recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(30_000);
+        }
+        report(virtualUsers, seconds);
+    }
+
+    private void report(List<VirtualUser> users, double seconds) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", users.size());
+        result.put("seconds", seconds);
+        result.put("settings", settings);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long total = 0;
+        System.out.printf("%-8s %9s %9s %8s %8s %10s %10s %10s %10s%n",
+                "op", "count", "ops/s", "errors", "conflict", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            LatencyLog merged = new LatencyLog();
+            long errors = 0;
+            long conflicts = 0;
+            for (VirtualUser user : users) {
+                merged.addAll(user.latencies[op]);
+                errors += user.errors[op];
+                conflicts += user.conflicts[op];
+            }
+            long[] sorted = merged.sorted();
+            total += sorted.length;
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", sorted.length);
+            stats.put("throughput", sorted.length / seconds);
+            stats.put("errors", errors);
+            stats.put("conflicts", conflicts);
+            stats.put("p50", millis(percentile(sorted, 0.50)));
+            stats.put("p95", millis(percentile(sorted, 0.95)));
+            stats.put("p99", millis(percentile(sorted, 0.99)));
+            stats.put("max", millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+            operations.put(OPERATIONS[op], stats);
+            System.out.printf("%-8s %9d %9.1f %8d %8d %10.2f %10.2f %10.2f %10.2f%n", OPERATIONS[op],
+                    sorted.length, sorted.length / seconds, errors, conflicts,
+                    stats.get("p50"), stats.get("p95"), stats.get("p99"), stats.get("max"));
+        }
+        result.put("throughput", total / seconds);
+        result.put("operations", operations);
+        System.out.printf("total    %9d %9.1f%n", total, total / seconds);
+
+        String path = settings.get("result");
+        if (!path.isEmpty()) {
+            Files.write(Path.of(path), JSON.writerWithDefaultPrettyPrinter().writeValueAsBytes(result));
+            System.out.println("Result written to " + path);
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private final class VirtualUser implements Runnable {
+
+        private final SplittableRandom random;
+        private final LatencyLog[] latencies = new LatencyLog[OPERATIONS.length];
+        private final long[] errors = new long[OPERATIONS.length];
+        private final long[] conflicts = new long[OPERATIONS.length];
+        private final String email;
+        private String authorization;
+        private long doctorId;
+        private String slot;
+
+        VirtualUser(SplittableRandom random) {
+            this.random = random;
+            int patients = Integer.parseInt(settings.get("patients"));
+            this.email = settings.get("label") + ".patient" + random.nextInt(patients) + "@clinic.test";
+            for (int op = 0; op < OPERATIONS.length; op++) {
+                latencies[op] = new LatencyLog();
+            }
+        }
+
+        @Override
+        public void run() {
+            long thinkMillis = Long.parseLong(settings.get("think-ms"));
+            while (running) {
+                int op = authorization == null ? LOGIN : pick();
+                if (op == BOOK && slot == null) {
+                    op = SEARCH;
+                }
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = execute(op);
+                } catch (IOException e) {
+                    status = -1;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long elapsed = System.nanoTime() - start;
+                if (recording) {
+                    latencies[op].add(elapsed);
+                    if (op == BOOK && status == 409) {
+                        conflicts[op]++;
+                    } else if (status < 200 || status >= 300) {
+                        errors[op]++;
+                    }
+                }
+                if (thinkMillis > 0) {
+                    try {
+                        Thread.sleep(thinkMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private int pick() {
+            int total = Arrays.stream(mix).sum();
+            int r = random.nextInt(total);
+            for (int op = 0; op < mix.length; op++) {
+                r -= mix[op];
+                if (r < 0) {
+                    return op;
+                }
+            }
+            return LIST;
+        }
+
+        private int execute(int op) throws IOException, InterruptedException {
+            switch (op) {
+                case LOGIN -> {
+                    String body = JSON.writeValueAsString(Map.of("email", email, "password", settings.get("password")));
+                    HttpResponse<String> response = send(post("/api/patient/login", body, false));
+                    if (response.statusCode() == 200) {
+                        authorization = "Bearer " + JSON.readTree(response.body()).path("token").asText();
+                    }
+                    return response.statusCode();
+                }
+                case SEARCH -> {
+                    LocalDate from = LocalDate.now().plusDays(1 + random.nextInt(7));
+                    LocalDate to = from.plusDays(Integer.parseInt(settings.get("horizon-days")));
+                    String speciality = specialities[random.nextInt(specialities.length)].trim();
+                    HttpResponse<String> response = send(get("/api/doctors/availability/search?speciality="
+                            + URLEncoder.encode(speciality, StandardCharsets.UTF_8)
+                            + "&from=" + from + "&to=" + to + "&limit=3"));
+                    if (response.statusCode() == 200) {
+                        rememberSlot(JSON.readTree(response.body()));
+                    }
+                    return response.statusCode();
+                }
+                case BOOK -> {
+                    String body = "{\"doctorId\":" + doctorId + ",\"appointmentTime\":\"" + slot + "\"}";
+                    slot = null;
+                    return send(post("/api/appointments", body, true)).statusCode();
+                }
+                default -> {
+                    return send(get("/api/patient/appointments?size=20")).statusCode();
+                }
+            }
+        }
+
+        private void rememberSlot(JsonNode doctors) {
+            slot = null;
+            if (doctors.isArray() && doctors.size() > 0) {
+                JsonNode doctor = doctors.get(random.nextInt(doctors.size()));
+                JsonNode slots = doctor.path("slots");
+                if (slots.isArray() && slots.size() > 0) {
+                    doctorId = doctor.path("doctorId").asLong();
+                    slot = slots.get(random.nextInt(slots.size())).asText();
+                }
+            }
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Authorization", authorization)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+
+        private HttpRequest post(String path, String body, boolean authenticated) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (authenticated) {
+                builder.header("Authorization", authorization);
+            }
+            return builder.build();
+        }
+
+        private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 401) {
+                authorization = null;
+            }
+            return response;
+        }
+    }
+
+    /** Growable array of latencies in nanoseconds, owned by one thread until the run ends. */
+    private static final class LatencyLog {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(LatencyLog other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.ibm.smartclinic.backend.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: launches the server command {@code runs} times and, for each launch,
+ * measures the wall time from process start until the first request is answered by the
+ * application (any status below 500 counts), plus the process RSS at that moment. The default
+ * request is a patient login for an unknown account, which goes through the security chain, the
+ * controller, the identity lookup and error rendering rather than a static probe. Each launch gets
+ * a fresh in-memory database unless the command says otherwise. Arguments are {@code key=value};
+ * see {@link #DEFAULTS}. Linux only, for the RSS figure.
+ */
+public final class StartupProbe {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("command", "java -jar target/backend-0.0.1-SNAPSHOT.jar");
+        DEFAULTS.put("args", "");
+        // Working directory of the server; an AppCDS archive only maps with the classpath it was dumped with
+        DEFAULTS.put("dir", ".");
+        DEFAULTS.put("runs", "5");
+        DEFAULTS.put("port", "18080");
+        DEFAULTS.put("path", "/api/patient/login");
+        DEFAULTS.put("body", "{\"email\":\"startup.probe@clinic.test\",\"password\":\"probe\"}");
+        DEFAULTS.put("timeout", "120");
+        DEFAULTS.put("result", "");
+    }
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0 || !DEFAULTS.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Unknown argument " + arg + "; expected key=value with key in " + DEFAULTS.keySet());
+            }
+            settings.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        int runs = Integer.parseInt(settings.get("runs"));
+        List<String> command = new ArrayList<>(split(settings.get("command")));
+        command.addAll(split(settings.get("args")));
+        command.add("--server.port=" + settings.get("port"));
+        URI uri = URI.create("http://localhost:" + settings.get("port") + settings.get("path"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(settings.get("timeout")));
+        System.out.println("Startup: " + String.join(" ", command) + " -> " + uri);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long[] millis = new long[runs];
+        long[] rssKb = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long[] sample = launch(command, Path.of(settings.get("dir")), client, request(uri, settings.get("body")), timeout);
+            millis[run] = sample[0];
+            rssKb[run] = sample[1];
+            System.out.printf("run %d: first response after %d ms, RSS %d MB%n", run + 1, millis[run], rssKb[run] / 1024);
+        }
+
+        long[] sortedMillis = millis.clone();
+        long[] sortedRss = rssKb.clone();
+        Arrays.sort(sortedMillis);
+        Arrays.sort(sortedRss);
+        System.out.printf("time to first request: min %d ms, median %d ms, max %d ms; median RSS %d MB%n",
+                sortedMillis[0], sortedMillis[runs / 2], sortedMillis[runs - 1], sortedRss[runs / 2] / 1024);
+
+        String path = settings.get("result");
+        if (!path.isEmpty()) {
+            String json = "{\"command\":\"" + String.join(" ", command).replace("\\", "\\\\").replace("\"", "\\\"")
+                    + "\",\"millis\":" + Arrays.toString(millis)
+                    + ",\"rssKb\":" + Arrays.toString(rssKb)
+                    + ",\"medianMillis\":" + sortedMillis[runs / 2]
+                    + ",\"medianRssKb\":" + sortedRss[runs / 2] + "}\n";
+            Files.writeString(Path.of(path), json, StandardCharsets.UTF_8);
+            System.out.println("Result written to " + path);
+        }
+    }
+
+    private static long[] launch(List<String> command, Path dir, HttpClient client, HttpRequest request,
+                                 Duration timeout) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = started + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Server exited with status " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() < 500) {
+                        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                        return new long[] {elapsed, rss(process.pid())};
+                    }
+                } catch (IOException notListeningYet) {
+                    // retry until the connector accepts
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No response within " + timeout);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static HttpRequest request(URI uri, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+        if (body.isEmpty()) {
+            return builder.GET().build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long rss(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux, or the process is gone
+        }
+        return 0;
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+}
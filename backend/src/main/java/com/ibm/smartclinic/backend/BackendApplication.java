@@ -1,9 +1,12 @@
 package com.ibm.smartclinic.backend;
 
+import com.ibm.smartclinic.backend.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -1,65 +1,252 @@
 package com.ibm.smartclinic.backend.config;
 
-import com.ibm.smartclinic.backend.model.Doctor;
-import com.ibm.smartclinic.backend.model.UserIdentity;
 import com.ibm.smartclinic.backend.model.UserRole;
-import com.ibm.smartclinic.backend.repository.DoctorRepository;
-import com.ibm.smartclinic.backend.service.IdentityService;
+import com.ibm.smartclinic.backend.security.PasswordHashingService;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Bean;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+/**
+ * Seeds the dev profile's doctors once the application is ready, on a background thread by default
+ * so startup does not wait for it. Each distinct password is hashed once, existing identities and
+ * doctors are read in one query per batch, and the missing or stale rows are written with JDBC
+ * batches in a single transaction. Stored hashes are only verified when they differ from ones
+ * already checked, so re-running against a seeded database costs no BCrypt work beyond the
+ * up-front hashing. New rows take ids from whole blocks of the pooled sequences, which keeps them
+ * clear of the ids Hibernate hands out concurrently.
+ */
 @Configuration
 @Profile("dev")
 public class DataLoader {
 
+    private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
+
     private static final String DEFAULT_DOCTOR_PASSWORD = "password";
+    /** Matches allocationSize of the entity sequence generators and the V9/V10 sequences. */
+    private static final int SEQUENCE_BLOCK = 50;
+
+    private static final List<SeedDoctor> SEED_DOCTORS = List.of(
+            new SeedDoctor("Dr John Smith", "john@clinic.com", "Cardiology", DEFAULT_DOCTOR_PASSWORD),
+            new SeedDoctor("Dr Alice Brown", "alice@clinic.com", "Dermatology", DEFAULT_DOCTOR_PASSWORD)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final PrincipalCache principalCache;
+    private final boolean async;
+    private final int batchSize;
+    private final boolean mysql;
+
+    public DataLoader(@NonNull JdbcTemplate jdbcTemplate,
+                      @NonNull PlatformTransactionManager transactionManager,
+                      @NonNull PasswordHashingService passwordHashingService,
+                      @NonNull PrincipalCache principalCache,
+                      @Value("${dev.seed.async:true}") boolean async,
+                      @Value("${dev.seed.batch-size:500}") int batchSize) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHashingService = passwordHashingService;
+        this.principalCache = principalCache;
+        this.async = async;
+        this.batchSize = Math.max(1, batchSize);
+        String product = JdbcUtils.extractDatabaseMetaData(
+                jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+        this.mysql = product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnReady() {
+        if (async) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("seed-");
+            executor.setDaemon(true);
+            executor.execute(this::seedSafely);
+        } else {
+            seed(SEED_DOCTORS);
+        }
+    }
+
+    private void seedSafely() {
+        try {
+            seed(SEED_DOCTORS);
+        } catch (RuntimeException e) {
+            log.error("Seeding dev doctors failed", e);
+        }
+    }
+
+    /**
+     * Creates or refreshes the given doctors and their identities. Returns the number of doctors
+     * inserted or updated.
+     */
+    public int seed(@NonNull List<SeedDoctor> seeds) {
+        long started = System.nanoTime();
+        Map<String, SeedDoctor> byEmail = new LinkedHashMap<>();
+        for (SeedDoctor seed : seeds) {
+            byEmail.put(seed.email().trim().toLowerCase(Locale.ROOT), seed);
+        }
+        Map<String, String> hashes = byEmail.values().stream()
+                .map(SeedDoctor::password)
+                .distinct()
+                .parallel()
+                .collect(Collectors.toConcurrentMap(password -> password, passwordHashingService::encode));
+
+        List<String> emails = new ArrayList<>(byEmail.keySet());
+        Map<String, Boolean> verified = new HashMap<>();
+        int written = 0;
+        for (int from = 0; from < emails.size(); from += batchSize) {
+            List<String> chunk = emails.subList(from, Math.min(emails.size(), from + batchSize));
+            Integer chunkWritten = transactionTemplate.execute(status -> seedChunk(chunk, byEmail, hashes, verified));
+            written += chunkWritten != null ? chunkWritten : 0;
+        }
+        log.info("Seeded {} of {} dev doctors in {} ms", written, byEmail.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return written;
+    }
+
+    private int seedChunk(List<String> emails, Map<String, SeedDoctor> byEmail, Map<String, String> hashes,
+                          Map<String, Boolean> verified) {
+        Map<String, Object> params = Map.of("emails", emails);
+        Map<String, ExistingIdentity> identities = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, email, role, password_hash, is_active FROM user_identity "
+                        + "WHERE email IN (:emails)", params,
+                rs -> {
+                    identities.put(rs.getString("email"), new ExistingIdentity(rs.getLong("id"),
+                            UserRole.valueOf(rs.getString("role")), rs.getString("password_hash"),
+                            rs.getBoolean("is_active")));
+                });
+        Map<String, ExistingDoctor> doctors = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, email, name, speciality, password FROM doctor WHERE email IN (:emails)",
+                params, rs -> {
+                    doctors.put(rs.getString("email"), new ExistingDoctor(rs.getLong("id"), rs.getString("name"),
+                            rs.getString("speciality"), rs.getString("password")));
+                });
+
+        List<Object[]> identityInserts = new ArrayList<>();
+        List<Object[]> identityUpdates = new ArrayList<>();
+        List<Object[]> doctorInserts = new ArrayList<>();
+        List<Object[]> doctorUpdates = new ArrayList<>();
+        List<String> reactivated = new ArrayList<>();
+        Deque<Long> identityIds = reserveIds("user_identity",
+                emails.stream().filter(email -> !identities.containsKey(email)).count());
+        Deque<Long> doctorIds = reserveIds("doctor",
+                emails.stream().filter(email -> !doctors.containsKey(email)).count());
 
-    @Bean
-    @DependsOn("flywayInitializer")
-    CommandLineRunner loadDoctors(DoctorRepository doctorRepository,
-                                 PasswordEncoder passwordEncoder,
-                                 IdentityService identityService) {
-        return args -> {
-            List<SeedDoctor> seedDoctors = List.of(
-                    new SeedDoctor("Dr John Smith", "john@clinic.com", "Cardiology"),
-                    new SeedDoctor("Dr Alice Brown", "alice@clinic.com", "Dermatology")
-            );
-
-            for (SeedDoctor seed : seedDoctors) {
-                UserIdentity identity = identityService.provisionIdentity(seed.email(), UserRole.DOCTOR, DEFAULT_DOCTOR_PASSWORD);
-
-                Doctor doctor = doctorRepository.findByEmail(identity.getEmail()).orElseGet(Doctor::new);
-                doctor.setName(seed.name());
-                doctor.setEmail(identity.getEmail());
-                doctor.setSpeciality(seed.speciality());
-
-                if (needsPasswordRefresh(doctor.getPassword(), passwordEncoder)) {
-                    doctor.setPassword(passwordEncoder.encode(DEFAULT_DOCTOR_PASSWORD));
+        for (String email : emails) {
+            SeedDoctor seed = byEmail.get(email);
+            String hash = hashes.get(seed.password());
+            ExistingIdentity identity = identities.get(email);
+            if (identity == null) {
+                identityInserts.add(new Object[] {identityIds.pop(), email, hash, UserRole.DOCTOR.name()});
+            } else if (identity.role() != UserRole.DOCTOR) {
+                log.warn("Skipping seed doctor {}: email is already registered as {}", email, identity.role());
+                continue;
+            } else {
+                boolean refresh = needsPasswordRefresh(identity.passwordHash(), seed.password());
+                if (refresh || !identity.active()) {
+                    identityUpdates.add(new Object[] {refresh ? hash : identity.passwordHash(), identity.id()});
+                    reactivated.add(email);
                 }
+            }
 
-                doctorRepository.save(doctor);
+            ExistingDoctor doctor = doctors.get(email);
+            if (doctor == null) {
+                doctorInserts.add(new Object[] {doctorIds.pop(), seed.name(), email, seed.speciality(), hash});
+            } else {
+                String password = matches(seed.password(), doctor.password(), verified) ? doctor.password() : hash;
+                if (!seed.name().equals(doctor.name()) || !seed.speciality().equals(doctor.speciality())
+                        || !password.equals(doctor.password())) {
+                    doctorUpdates.add(new Object[] {seed.name(), seed.speciality(), password, doctor.id()});
+                }
             }
-        };
+        }
+
+        batch("INSERT INTO user_identity (id, email, password_hash, role) VALUES (?, ?, ?, ?)", identityInserts);
+        batch("UPDATE user_identity SET password_hash = ?, is_active = TRUE WHERE id = ?", identityUpdates);
+        batch("INSERT INTO doctor (id, name, email, speciality, password) VALUES (?, ?, ?, ?, ?)", doctorInserts);
+        batch("UPDATE doctor SET name = ?, speciality = ?, password = ? WHERE id = ?", doctorUpdates);
+        reactivated.forEach(principalCache::evict);
+        return doctorInserts.size() + doctorUpdates.size();
     }
 
-    private boolean needsPasswordRefresh(String existingPassword, PasswordEncoder passwordEncoder) {
-        if (existingPassword == null || existingPassword.isBlank()) {
-            return true;
+    /**
+     * Takes whole blocks from the entity's pooled sequence. Hibernate's pooled optimizer reads each
+     * value as the top of a block of {@link #SEQUENCE_BLOCK} ids, so a value drawn here reserves
+     * that block for the loader alone.
+     */
+    private Deque<Long> reserveIds(String table, long count) {
+        Deque<Long> ids = new ArrayDeque<>();
+        while (ids.size() < count) {
+            long top;
+            if (mysql) {
+                Long current = jdbcTemplate.queryForObject("SELECT next_val FROM " + table + "_seq FOR UPDATE", Long.class);
+                jdbcTemplate.update("UPDATE " + table + "_seq SET next_val = next_val + " + SEQUENCE_BLOCK);
+                top = current != null ? current : SEQUENCE_BLOCK;
+            } else {
+                Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + table + "_seq", Long.class);
+                top = next != null ? next : SEQUENCE_BLOCK;
+            }
+            for (long id = top - SEQUENCE_BLOCK + 1; id <= top && ids.size() < count; id++) {
+                ids.add(id);
+            }
         }
-        if (!isBcrypt(existingPassword)) {
+        return ids;
+    }
+
+    /** Mirrors IdentityService: blank or plaintext-equal hashes are replaced, other hashes are kept. */
+    private boolean needsPasswordRefresh(String storedPassword, String rawPassword) {
+        if (!StringUtils.hasText(storedPassword)) {
             return true;
         }
-        return !passwordEncoder.matches(DEFAULT_DOCTOR_PASSWORD, existingPassword);
+        return !isBcrypt(storedPassword) && storedPassword.equals(rawPassword);
+    }
+
+    private boolean matches(String rawPassword, String storedPassword, Map<String, Boolean> verified) {
+        if (!StringUtils.hasText(storedPassword) || !isBcrypt(storedPassword)) {
+            return false;
+        }
+        return verified.computeIfAbsent(rawPassword + '\u0000' + storedPassword,
+                key -> passwordHashingService.matches(rawPassword, storedPassword));
     }
 
     private boolean isBcrypt(String value) {
         return value.startsWith("$2a$") || value.startsWith("$2b$") || value.startsWith("$2y$");
     }
 
-    private record SeedDoctor(String name, String email, String speciality) {}
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    public record SeedDoctor(String name, String email, String speciality, String password) {}
+
+    private record ExistingIdentity(long id, UserRole role, String passwordHash, boolean active) {}
+
+    private record ExistingDoctor(long id, String name, String speciality, String password) {}
 }
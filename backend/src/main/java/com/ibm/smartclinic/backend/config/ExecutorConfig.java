@@ -0,0 +1,47 @@
+package com.ibm.smartclinic.backend.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool for per-doctor availability evaluation. When the queue is full the
+     * submitting request thread runs the task itself, which throttles callers instead of failing.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor availabilitySearchExecutor(
+            @Value("${availability.search.threads:0}") int threads,
+            @Value("${availability.search.queue-capacity:1000}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("availability-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Virtual-thread variant: one virtual thread per task, with the same concurrency bound. Once the
+     * limit is reached the submitting thread blocks, which throttles callers like the platform pool.
+     */
+    @Bean(name = "availabilitySearchExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualAvailabilitySearchExecutor(
+            @Value("${availability.search.threads:0}") int threads) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("availability-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        return executor;
+    }
+}
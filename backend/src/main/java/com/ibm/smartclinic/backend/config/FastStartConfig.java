@@ -0,0 +1,32 @@
+package com.ibm.smartclinic.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Startup-optimized mode ({@code fast-start} profile). With {@code spring.main.lazy-initialization}
+ * on, the application's own beans stay eager so the first request does not pay for services,
+ * repositories and the persistence unit; everything else is built on first use. Flyway runs
+ * through {@link FlywayValidationMarker}.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.ibm.smartclinic.backend.";
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerApplicationBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType != null && beanType.getName().startsWith(APPLICATION_PACKAGE);
+    }
+
+    @Bean
+    FlywayValidationMarker flywayMigrationStrategy(
+            @Value("${fast-start.flyway.deferred-validation:true}") boolean deferredValidation) {
+        return new FlywayValidationMarker(deferredValidation);
+    }
+}
@@ -0,0 +1,168 @@
+package com.ibm.smartclinic.backend.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Flyway migration strategy for the fast-start profile. After a validated migrate it stores a
+ * fingerprint of the migration scripts and the schema history in {@code schema_validation_marker}.
+ * On the next start, if both still hash to that fingerprint, the database is exactly where the last
+ * validation left it and nothing is pending, so Flyway is not run at all; with deferred validation
+ * on, a full {@code validate} runs in the background once the application is ready and clears the
+ * marker if it fails, so the following start validates up front. Any difference in the scripts or
+ * the history falls back to a normal migrate with validation.
+ */
+public class FlywayValidationMarker implements FlywayMigrationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayValidationMarker.class);
+
+    private final boolean deferredValidation;
+    private volatile Flyway skipped;
+
+    public FlywayValidationMarker(boolean deferredValidation) {
+        this.deferredValidation = deferredValidation;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+        String scripts = scriptsDigest(flyway.getConfiguration().getLocations());
+        String marker = readMarker(jdbcTemplate);
+        String current = fingerprint(jdbcTemplate, flyway, scripts);
+        if (current != null && current.equals(marker)) {
+            log.info("Migrations and schema history match validation marker {}, skipping Flyway", current.substring(0, 12));
+            skipped = flyway;
+            return;
+        }
+        flyway.migrate();
+        String validated = fingerprint(jdbcTemplate, flyway, scripts);
+        if (validated != null) {
+            writeMarker(jdbcTemplate, validated);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateAfterStartup() {
+        Flyway flyway = skipped;
+        if (flyway == null || !deferredValidation) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("flyway-validate-");
+        executor.setDaemon(true);
+        executor.execute(() -> {
+            ValidateResult result = flyway.validateWithResult();
+            if (result.validationSuccessful) {
+                log.info("Deferred Flyway validation passed");
+            } else {
+                log.error("Deferred Flyway validation failed, the next start will validate up front: {}",
+                        result.getAllErrorMessages());
+                new JdbcTemplate(flyway.getConfiguration().getDataSource())
+                        .update("DELETE FROM schema_validation_marker");
+            }
+        });
+    }
+
+    private String readMarker(JdbcTemplate jdbcTemplate) {
+        try {
+            List<String> rows = jdbcTemplate.queryForList(
+                    "SELECT fingerprint FROM schema_validation_marker WHERE id = 1", String.class);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (DataAccessException e) {
+            // Not migrated to the marker table yet
+            return null;
+        }
+    }
+
+    private void writeMarker(JdbcTemplate jdbcTemplate, String fingerprint) {
+        try {
+            jdbcTemplate.update("DELETE FROM schema_validation_marker WHERE id = 1");
+            jdbcTemplate.update("INSERT INTO schema_validation_marker (id, fingerprint, validated_at) VALUES (1, ?, ?)",
+                    fingerprint, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            log.warn("Could not record the Flyway validation marker: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * SHA-256 over the scripts digest and every schema history row, or null when the history
+     * cannot be read.
+     */
+    private String fingerprint(JdbcTemplate jdbcTemplate, Flyway flyway, String scripts) {
+        MessageDigest digest = sha256();
+        digest.update(scripts.getBytes(StandardCharsets.UTF_8));
+        try {
+            String quote = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getIdentifierQuoteString).trim();
+            String table = quote + flyway.getConfiguration().getTable() + quote;
+            String schema = flyway.getConfiguration().getDefaultSchema();
+            if (schema != null) {
+                table = quote + schema + quote + "." + table;
+            }
+            // Flyway creates the history with quoted lower-case names
+            String columns = String.join(", ", List.of("installed_rank", "version", "script", "checksum", "success")
+                    .stream().map(column -> quote + column + quote).toList());
+            jdbcTemplate.query("SELECT " + columns + " FROM " + table + " ORDER BY 1", rs -> {
+                        digest.update((rs.getInt(1) + "|" + rs.getString(2) + "|" + rs.getString(3) + "|"
+                                + rs.getObject(4) + "|" + rs.getBoolean(5) + "\n").getBytes(StandardCharsets.UTF_8));
+                    });
+        } catch (DataAccessException | MetaDataAccessException e) {
+            return null;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String scriptsDigest(Location[] locations) {
+        MessageDigest digest = sha256();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        try {
+            for (Location location : locations) {
+                String pattern = (location.isClassPath() ? "classpath*:" : "file:") + location.getRootPath() + "/**/*.sql";
+                Resource[] resources = resolver.getResources(pattern);
+                Arrays.sort(resources, Comparator.comparing(Resource::getFilename, Comparator.nullsFirst(Comparator.naturalOrder())));
+                for (Resource resource : resources) {
+                    digest.update((location.getDescriptor() + "/" + resource.getFilename() + "\n").getBytes(StandardCharsets.UTF_8));
+                    try (InputStream in = resource.getInputStream()) {
+                        digest.update(in.readAllBytes());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read migration scripts", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
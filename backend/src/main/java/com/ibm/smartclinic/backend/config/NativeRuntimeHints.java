@@ -0,0 +1,73 @@
+package com.ibm.smartclinic.backend.config;
+
+import com.ibm.smartclinic.backend.dto.CursorPage;
+import com.ibm.smartclinic.backend.event.OutboxEvent;
+import com.ibm.smartclinic.backend.exception.ApiError;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.Prescription;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import com.ibm.smartclinic.backend.model.UserIdentityId;
+import com.ibm.smartclinic.backend.model.UserRole;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot derive on its own.
+ * Controller request and response types are registered by AOT already; this covers the JPA
+ * entities (Hibernate enhances and instantiates them reflectively), JSON written outside
+ * controllers (error bodies, outbox events, NDJSON pages), the jjwt implementation classes that
+ * {@code Jwts} and the Jackson bridge load by name or through {@link java.util.ServiceLoader}, the
+ * vendor-specific Flyway scripts beyond Boot's default {@code db/migration} location, and the
+ * Swagger UI assets and annotations springdoc reads at runtime.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] ENTITIES = {
+        Appointment.class, Doctor.class, Patient.class, Prescription.class, UserIdentity.class,
+        UserIdentityId.class, AppointmentStatus.class, UserRole.class
+    };
+
+    private static final Class<?>[] JSON_TYPES = {ApiError.class, OutboxEvent.class, CursorPage.class};
+
+    private static final String[] JJWT_TYPES = {
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParser",
+        "io.jsonwebtoken.impl.DefaultClaims",
+        "io.jsonwebtoken.impl.DefaultHeader",
+        "io.jsonwebtoken.impl.DefaultJwsHeader",
+        "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+        "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    @Override
+    public void registerHints(@NonNull RuntimeHints hints, @Nullable ClassLoader classLoader) {
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity, MemberCategory.values());
+        }
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        hints.resources().registerPattern("db/migration/*.sql");
+        hints.resources().registerPattern("db/vendor/*/*.sql");
+
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        hints.reflection().registerType(OpenApiConfig.class, MemberCategory.values());
+    }
+}
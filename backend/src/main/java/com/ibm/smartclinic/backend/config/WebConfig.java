@@ -1,18 +1,30 @@
 package com.ibm.smartclinic.backend.config;
 
 import com.ibm.smartclinic.backend.logging.RequestLoggingInterceptor;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Logins check BCrypt outside any transaction; an open-in-view session would hold its
+     * connection through that wait, so these requests get none.
+     */
+    private static final String[] LOGIN_PATHS = {"/api/doctor/login", "/api/patient/login", "/api/auth/patient/login"};
+
     private final RequestLoggingInterceptor requestLoggingInterceptor;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public WebConfig(@NonNull RequestLoggingInterceptor requestLoggingInterceptor) {
+    public WebConfig(@NonNull RequestLoggingInterceptor requestLoggingInterceptor,
+                     @NonNull EntityManagerFactory entityManagerFactory) {
         this.requestLoggingInterceptor = requestLoggingInterceptor;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     /**
@@ -22,5 +34,11 @@ public class WebConfig implements WebMvcConfigurer {
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
         registry.addInterceptor((HandlerInterceptor) requestLoggingInterceptor) // documented cast for null-safety contract
                 .addPathPatterns("/**");
+
+        // Replaces Boot's open-in-view interceptor, disabled by spring.jpa.open-in-view=false
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(openInView)
+                .excludePathPatterns(LOGIN_PATHS);
     }
 }
@@ -1,5 +1,6 @@
 package com.ibm.smartclinic.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -7,23 +8,32 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import com.ibm.smartclinic.backend.dto.AppointmentRequestDto;
-import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
+import com.ibm.smartclinic.backend.dto.BatchBookingRequestDto;
+import com.ibm.smartclinic.backend.dto.BatchResultDto;
+import com.ibm.smartclinic.backend.dto.BatchTransitionRequestDto;
 import com.ibm.smartclinic.backend.exception.ValidationException;
 import com.ibm.smartclinic.backend.model.Appointment;
 import com.ibm.smartclinic.backend.model.Doctor;
 import com.ibm.smartclinic.backend.dto.AppointmentResponseDto;
+import com.ibm.smartclinic.backend.dto.CursorPage;
 import com.ibm.smartclinic.backend.dto.DoctorResponseDto;
 import com.ibm.smartclinic.backend.service.AppointmentService;
 import com.ibm.smartclinic.backend.service.DoctorService;
 import com.ibm.smartclinic.backend.service.PatientService;
 import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.AuthenticatedUser;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -36,13 +46,19 @@ public class AppointmentController {
     private final AppointmentService appointmentService;
     private final DoctorService doctorService;
     private final PatientService patientService;
+    private final PrincipalCache principalCache;
+    private final ObjectMapper objectMapper;
 
     public AppointmentController(AppointmentService appointmentService,
                                  DoctorService doctorService,
-                                 PatientService patientService) {
+                                 PatientService patientService,
+                                 PrincipalCache principalCache,
+                                 ObjectMapper objectMapper) {
         this.appointmentService = appointmentService;
         this.doctorService = doctorService;
         this.patientService = patientService;
+        this.principalCache = principalCache;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Get paginated list of appointments for a patient", security = @SecurityRequirement(name = "bearerAuth"))
@@ -62,9 +78,28 @@ public class AppointmentController {
         if (!patient.getId().equals(patientId)) {
             throw new ValidationException("Authenticated patient does not match requested patient ID");
         }
-        Page<Appointment> page = appointmentService.getAppointmentsByPatientId(patient.getId(), pageable);
-        Page<AppointmentResponseDto> dtoPage = page.map(this::toAppointmentResponseDto);
-        return ResponseEntity.ok(dtoPage);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByPatientId(patient.getId(), pageable));
+    }
+
+    @Operation(summary = "Scroll a patient's appointments with a continuation cursor", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Slice of appointments returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PreAuthorize("hasRole('PATIENT')")
+    @GetMapping("/patient/{patientId}/scroll")
+    public ResponseEntity<CursorPage<AppointmentResponseDto>> scrollAppointmentsByPatient(
+            @PathVariable @Min(value = 1, message = "Patient ID must be positive") @NonNull Long patientId,
+            @RequestParam(name = "cursor", required = false) @Nullable String cursor,
+            @RequestParam(name = "size", required = false) @Nullable Integer size,
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal) {
+        Patient patient = resolveAuthenticatedPatient();
+        if (!patient.getId().equals(patientId)) {
+            throw new ValidationException("Authenticated patient does not match requested patient ID");
+        }
+        return ResponseEntity.ok(appointmentService.scrollAppointmentsByPatientId(patientId, cursor, size, withTotal));
     }
 
     @Operation(summary = "Book a new appointment", security = @SecurityRequirement(name = "bearerAuth"))
@@ -91,6 +126,36 @@ public class AppointmentController {
             return ResponseEntity.status(HttpStatus.CREATED).body(toAppointmentResponseDto(booked));
         }
 
+        @Operation(summary = "Book several appointments in one transaction with a per-item outcome", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; see each item's outcome"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body or batch too large"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "A slot was booked concurrently; nothing was booked")
+        })
+        @PreAuthorize("hasRole('PATIENT')")
+        @PostMapping("/batch")
+        public ResponseEntity<BatchResultDto> bookAppointments(@Valid @RequestBody @NonNull BatchBookingRequestDto requestDto) {
+            Patient patient = resolveAuthenticatedPatient();
+            return ResponseEntity.ok(appointmentService.bookAppointments(patient, requestDto.getItems()));
+        }
+
+        @Operation(summary = "Complete or cancel several appointments in one transaction with a per-item outcome", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; see each item's outcome"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body or batch too large"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "Appointments changed concurrently; nothing was applied")
+        })
+        @PreAuthorize("hasRole('DOCTOR')")
+        @PostMapping("/batch/status")
+        public ResponseEntity<BatchResultDto> transitionAppointments(@Valid @RequestBody @NonNull BatchTransitionRequestDto requestDto) {
+            Doctor doctor = resolveAuthenticatedDoctor();
+            return ResponseEntity.ok(appointmentService.transitionAppointments(doctor, requestDto.getItems()));
+        }
+
         @Operation(summary = "Get authenticated doctor's appointments", security = @SecurityRequirement(name = "bearerAuth"))
         @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Appointments returned"),
@@ -98,14 +163,20 @@ public class AppointmentController {
             @ApiResponse(responseCode = "403", description = "Forbidden")
         })
         @PreAuthorize("hasRole('DOCTOR')")
-        @GetMapping("/doctor")
-        public ResponseEntity<List<AppointmentResponseDto>> getAppointmentsForDoctor() {
+        @GetMapping(value = "/doctor", produces = MediaType.APPLICATION_JSON_VALUE)
+        public ResponseEntity<List<AppointmentResponseDto>> getAppointmentsForDoctor(
+                @PageableDefault(size = 100) @NonNull Pageable pageable) {
             Doctor doctor = resolveAuthenticatedDoctor();
-            List<AppointmentResponseDto> responses = appointmentService.getAppointmentsForDoctor(doctor.getId())
-                    .stream()
-                    .map(this::toAppointmentResponseDto)
-                    .toList();
-            return ResponseEntity.ok(responses);
+            return ListingResponses.page(appointmentService.getAppointmentsForDoctor(doctor.getId(), pageable));
+        }
+
+        @Operation(summary = "Stream authenticated doctor's full appointment history as newline-delimited JSON", security = @SecurityRequirement(name = "bearerAuth"))
+        @PreAuthorize("hasRole('DOCTOR')")
+        @GetMapping(value = "/doctor", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> streamAppointmentsForDoctor() {
+            Long doctorId = resolveAuthenticatedDoctor().getId();
+            return ListingResponses.ndjson(objectMapper,
+                    sink -> appointmentService.streamAppointmentsForDoctor(doctorId, sink));
         }
 
     @Operation(summary = "Mark appointment as completed", security = @SecurityRequirement(name = "bearerAuth"))
@@ -156,25 +227,21 @@ public class AppointmentController {
     }
 
     private Doctor resolveAuthenticatedDoctor() {
-        String email = getCurrentUserEmail();
-        return doctorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "email", email));
+        return doctorService.getReference(principalCache.resolveEntityId(getCurrentUser(), UserRole.DOCTOR));
     }
 
     private Patient resolveAuthenticatedPatient() {
-        String email = getCurrentUserEmail();
-        return patientService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Patient", "email", email));
+        return patientService.getReference(principalCache.resolveEntityId(getCurrentUser(), UserRole.PATIENT));
     }
 
-    private String getCurrentUserEmail() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new ValidationException("Authentication is required");
         }
         Object principal = authentication.getPrincipal();
-        if (principal instanceof String email) {
-            return email;
+        if (principal instanceof AuthenticatedUser user) {
+            return user;
         }
         throw new ValidationException("Unsupported authentication principal type");
     }
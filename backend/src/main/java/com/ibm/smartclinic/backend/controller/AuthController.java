@@ -85,7 +85,7 @@ public class AuthController {
         Doctor doctor = doctorService.findByEmail(identity.getEmail())
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
 
-        String token = tokenService.generateToken(identity.getEmail(), Role.DOCTOR.name());
+        String token = tokenService.generateToken(identity.getEmail(), Role.DOCTOR.name(), identity.getId(), doctor.getId());
         return ResponseEntity.ok(new AuthResponseDto(token, Role.DOCTOR.name()));
     }
 
@@ -98,7 +98,7 @@ public class AuthController {
         Patient patient = patientService.findByEmail(identity.getEmail())
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
 
-        String token = tokenService.generateToken(identity.getEmail(), Role.PATIENT.name());
+        String token = tokenService.generateToken(identity.getEmail(), Role.PATIENT.name(), identity.getId(), patient.getId());
         return ResponseEntity.ok(new AuthResponseDto(token, Role.PATIENT.name()));
     }
 }
@@ -6,11 +6,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import com.ibm.smartclinic.backend.dto.CursorPage;
+import com.ibm.smartclinic.backend.dto.DoctorAvailabilityDto;
 import com.ibm.smartclinic.backend.dto.DoctorResponseDto;
-import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
 import com.ibm.smartclinic.backend.exception.ValidationException;
 import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.AuthenticatedUser;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
+import com.ibm.smartclinic.backend.service.AvailabilitySearchService;
 import com.ibm.smartclinic.backend.service.DoctorService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -18,9 +24,15 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -31,9 +43,15 @@ import org.springframework.data.web.PageableDefault;
 public class DoctorController {
 
     private final DoctorService doctorService;
+    private final AvailabilitySearchService availabilitySearchService;
+    private final PrincipalCache principalCache;
 
-    public DoctorController(DoctorService doctorService) {
+    public DoctorController(DoctorService doctorService,
+                            AvailabilitySearchService availabilitySearchService,
+                            PrincipalCache principalCache) {
         this.doctorService = doctorService;
+        this.availabilitySearchService = availabilitySearchService;
+        this.principalCache = principalCache;
     }
 
     
@@ -53,6 +71,22 @@ public class DoctorController {
         return ResponseEntity.ok(dtoPage);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('DOCTOR','PATIENT')")
+    @Operation(summary = "Scroll doctors by id with a continuation cursor", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Slice of doctors returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<CursorPage<DoctorResponseDto>> scrollDoctors(
+            @RequestParam(name = "cursor", required = false) @Nullable String cursor,
+            @RequestParam(name = "size", required = false) @Nullable Integer size,
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(doctorService.scrollDoctors(cursor, size, withTotal));
+    }
+
     @GetMapping("/{doctorId}/availability")
     @PreAuthorize("hasAnyRole('DOCTOR','PATIENT')")
     @Operation(summary = "Get available time slots for a doctor on a given date", security = @SecurityRequirement(name = "bearerAuth"))
@@ -76,6 +110,87 @@ public class DoctorController {
         );
     }
 
+    @GetMapping("/{doctorId}/availability/week")
+    @PreAuthorize("hasAnyRole('DOCTOR','PATIENT')")
+    @Operation(summary = "Get available time slots for a doctor for the seven days starting at a given date", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Available time slots per day returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        @ApiResponse(responseCode = "404", description = "Doctor not found")
+    })
+    public ResponseEntity<Map<String, List<String>>> getDoctorWeeklyAvailability(
+            @PathVariable @Min(value = 1, message = "Doctor ID must be positive") @NonNull Long doctorId,
+            @RequestParam(name = "start", required = true)
+            @NotBlank(message = "Start parameter is required") @NonNull String start) {
+        Map<String, List<String>> week = new LinkedHashMap<>();
+        doctorService.getWeeklyAvailability(doctorId, LocalDate.parse(start))
+                .forEach((day, slots) -> week.put(day.toString(), slots.stream().map(Object::toString).toList()));
+        return ResponseEntity.ok(week);
+    }
+
+    @GetMapping(value = "/availability/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('DOCTOR','PATIENT')")
+    @Operation(summary = "Find the earliest free slots across all doctors of a speciality", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Doctors with free slots returned, earliest first"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<List<DoctorAvailabilityDto>> searchAvailability(
+            @RequestParam(name = "speciality") @NotBlank(message = "Speciality parameter is required") @NonNull String speciality,
+            @RequestParam(name = "from") @NotBlank(message = "From parameter is required") @NonNull String from,
+            @RequestParam(name = "to") @NotBlank(message = "To parameter is required") @NonNull String to,
+            @RequestParam(name = "startTime", required = false) @Nullable String startTime,
+            @RequestParam(name = "endTime", required = false) @Nullable String endTime,
+            @RequestParam(name = "limit", defaultValue = "3") int limit) {
+        return ResponseEntity.ok(availabilitySearchService.search(
+                speciality, LocalDate.parse(from), LocalDate.parse(to),
+                parseTime(startTime), parseTime(endTime), limit));
+    }
+
+    @GetMapping(value = "/availability/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('DOCTOR','PATIENT')")
+    @Operation(summary = "Stream doctors with free slots as newline-delimited JSON as each one is evaluated", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ResponseBodyEmitter> streamAvailability(
+            @RequestParam(name = "speciality") @NotBlank(message = "Speciality parameter is required") @NonNull String speciality,
+            @RequestParam(name = "from") @NotBlank(message = "From parameter is required") @NonNull String from,
+            @RequestParam(name = "to") @NotBlank(message = "To parameter is required") @NonNull String to,
+            @RequestParam(name = "startTime", required = false) @Nullable String startTime,
+            @RequestParam(name = "endTime", required = false) @Nullable String endTime,
+            @RequestParam(name = "limit", defaultValue = "3") int limit) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        availabilitySearchService.stream(
+                speciality, LocalDate.parse(from), LocalDate.parse(to),
+                parseTime(startTime), parseTime(endTime), limit,
+                result -> {
+                    // Results arrive from several executor threads; keep each line intact
+                    synchronized (emitter) {
+                        try {
+                            emitter.send(result, MediaType.APPLICATION_JSON);
+                            emitter.send("\n", MediaType.TEXT_PLAIN);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    }
+                })
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        emitter.completeWithError(error);
+                    } else {
+                        emitter.complete();
+                    }
+                });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    @Nullable
+    private LocalTime parseTime(@Nullable String value) {
+        return value == null || value.isBlank() ? null : LocalTime.parse(value);
+    }
+
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('DOCTOR','PATIENT')")
     @Operation(summary = "Search doctors by speciality", security = @SecurityRequirement(name = "bearerAuth"))
@@ -108,17 +223,19 @@ public class DoctorController {
     @PreAuthorize("hasRole('DOCTOR')")
     @Operation(summary = "Get the authenticated doctor's profile", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<DoctorResponseDto> getAuthenticatedDoctor() {
+        Doctor doctor = doctorService.requireById(principalCache.resolveEntityId(getCurrentUser(), UserRole.DOCTOR));
+        return ResponseEntity.ok(toDoctorResponseDto(doctor));
+    }
+
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new ValidationException("Authentication is required");
         }
         Object principal = authentication.getPrincipal();
-        if (!(principal instanceof String email)) {
-            throw new ValidationException("Unsupported authentication principal type");
+        if (principal instanceof AuthenticatedUser user) {
+            return user;
         }
-        Doctor doctor = doctorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "email", email));
-        return ResponseEntity.ok(toDoctorResponseDto(doctor));
+        throw new ValidationException("Unsupported authentication principal type");
     }
-
 }
@@ -0,0 +1,66 @@
+package com.ibm.smartclinic.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Response shapes shared by the history endpoints: a bounded JSON array page, or the full
+ * history as newline-delimited JSON written row by row.
+ */
+final class ListingResponses {
+
+    static final String HAS_NEXT_HEADER = "X-Has-Next";
+
+    private static final int FLUSH_EVERY = 256;
+
+    private ListingResponses() {
+    }
+
+    /**
+     * The slice content as a plain JSON array, keeping the historical response shape; whether
+     * another page follows is reported in {@value #HAS_NEXT_HEADER}.
+     */
+    static <T> ResponseEntity<List<T>> page(Slice<T> slice) {
+        return ResponseEntity.ok()
+                .header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()))
+                .body(slice.getContent());
+    }
+
+    /**
+     * Streams every row {@code source} hands to its sink as one JSON document per line. Rows are
+     * serialized and written as they arrive, so memory use does not grow with the history length.
+     */
+    static ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Consumer<Consumer<Object>> source) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            try {
+                source.accept(row -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(row));
+                        out.write('\n');
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
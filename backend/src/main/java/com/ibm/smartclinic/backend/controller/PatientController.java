@@ -1,14 +1,14 @@
 package com.ibm.smartclinic.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.smartclinic.backend.dto.AppointmentResponseDto;
-import com.ibm.smartclinic.backend.dto.DoctorResponseDto;
 import com.ibm.smartclinic.backend.dto.PatientResponseDto;
 import com.ibm.smartclinic.backend.dto.PrescriptionResponseDto;
-import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
 import com.ibm.smartclinic.backend.exception.ValidationException;
-import com.ibm.smartclinic.backend.model.Appointment;
-import com.ibm.smartclinic.backend.model.Doctor;
 import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.AuthenticatedUser;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
 import com.ibm.smartclinic.backend.service.AppointmentService;
 import com.ibm.smartclinic.backend.service.PatientService;
 import com.ibm.smartclinic.backend.service.PrescriptionService;
@@ -17,6 +17,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,7 +27,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/patient")
@@ -34,13 +39,19 @@ public class PatientController {
     private final PatientService patientService;
     private final AppointmentService appointmentService;
     private final PrescriptionService prescriptionService;
+    private final PrincipalCache principalCache;
+    private final ObjectMapper objectMapper;
 
     public PatientController(@NonNull PatientService patientService,
                              @NonNull AppointmentService appointmentService,
-                             @NonNull PrescriptionService prescriptionService) {
+                             @NonNull PrescriptionService prescriptionService,
+                             @NonNull PrincipalCache principalCache,
+                             @NonNull ObjectMapper objectMapper) {
         this.patientService = patientService;
         this.appointmentService = appointmentService;
         this.prescriptionService = prescriptionService;
+        this.principalCache = principalCache;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Get authenticated patient profile")
@@ -52,7 +63,7 @@ public class PatientController {
     @PreAuthorize("hasRole('PATIENT')")
     @GetMapping("/profile")
     public ResponseEntity<PatientResponseDto> getProfile() {
-        Patient patient = resolveAuthenticatedPatient();
+        Patient patient = patientService.requireById(resolveAuthenticatedPatient().getId());
         PatientResponseDto response = new PatientResponseDto(
                 patient.getId(),
                 patient.getName(),
@@ -69,14 +80,20 @@ public class PatientController {
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PreAuthorize("hasRole('PATIENT')")
-    @GetMapping("/appointments")
-    public ResponseEntity<List<AppointmentResponseDto>> getAppointments() {
+    @GetMapping(value = "/appointments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AppointmentResponseDto>> getAppointments(
+            @PageableDefault(size = 100) @NonNull Pageable pageable) {
         Patient patient = resolveAuthenticatedPatient();
-        List<AppointmentResponseDto> responses = appointmentService.getAppointmentsForPatient(patient.getId())
-                .stream()
-                .map(this::toAppointmentResponseDto)
-                .toList();
-        return ResponseEntity.ok(responses);
+        return ListingResponses.page(appointmentService.getAppointmentsForPatient(patient.getId(), pageable));
+    }
+
+    @Operation(summary = "Stream authenticated patient's full appointment history as newline-delimited JSON")
+    @PreAuthorize("hasRole('PATIENT')")
+    @GetMapping(value = "/appointments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAppointments() {
+        Long patientId = resolveAuthenticatedPatient().getId();
+        return ListingResponses.ndjson(objectMapper,
+                sink -> appointmentService.streamAppointmentsForPatient(patientId, sink));
     }
 
     @Operation(summary = "Get authenticated patient's prescriptions")
@@ -86,43 +103,36 @@ public class PatientController {
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PreAuthorize("hasRole('PATIENT')")
-    @GetMapping("/prescriptions")
-    public ResponseEntity<List<PrescriptionResponseDto>> getPrescriptions() {
+    @GetMapping(value = "/prescriptions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PrescriptionResponseDto>> getPrescriptions(
+            @RequestParam(name = "details", defaultValue = "false") boolean details,
+            @PageableDefault(size = 100) @NonNull Pageable pageable) {
         Patient patient = resolveAuthenticatedPatient();
-        return ResponseEntity.ok(prescriptionService.getPrescriptionsForPatient(patient.getId()));
+        return ListingResponses.page(prescriptionService.getPrescriptionsForPatient(patient.getId(), details, pageable));
     }
 
-    private AppointmentResponseDto toAppointmentResponseDto(@NonNull Appointment appointment) {
-        Doctor doctor = appointment.getDoctor();
-        DoctorResponseDto doctorDto = doctor != null ? new DoctorResponseDto(
-                doctor.getId(),
-                doctor.getName(),
-                doctor.getEmail(),
-                doctor.getSpeciality()
-        ) : null;
-        return new AppointmentResponseDto(
-                appointment.getId(),
-                appointment.getAppointmentTime(),
-                doctorDto,
-                appointment.getPatient() != null ? appointment.getPatient().getId() : null,
-                appointment.getStatus() != null ? appointment.getStatus().name() : null
-        );
+    @Operation(summary = "Stream authenticated patient's full prescription history as newline-delimited JSON")
+    @PreAuthorize("hasRole('PATIENT')")
+    @GetMapping(value = "/prescriptions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPrescriptions(
+            @RequestParam(name = "details", defaultValue = "false") boolean details) {
+        Long patientId = resolveAuthenticatedPatient().getId();
+        return ListingResponses.ndjson(objectMapper,
+                sink -> prescriptionService.streamPrescriptionsForPatient(patientId, details, sink));
     }
 
     private Patient resolveAuthenticatedPatient() {
-        String email = getCurrentUserEmail();
-        return patientService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Patient", "email", email));
+        return patientService.getReference(principalCache.resolveEntityId(getCurrentUser(), UserRole.PATIENT));
     }
 
-    private String getCurrentUserEmail() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new ValidationException("Authentication is required");
         }
         Object principal = authentication.getPrincipal();
-        if (principal instanceof String email) {
-            return email;
+        if (principal instanceof AuthenticatedUser user) {
+            return user;
         }
         throw new ValidationException("Unsupported authentication principal type");
     }
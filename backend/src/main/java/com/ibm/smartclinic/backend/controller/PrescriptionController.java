@@ -1,11 +1,14 @@
 package com.ibm.smartclinic.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.smartclinic.backend.dto.PrescriptionRequestDto;
 import com.ibm.smartclinic.backend.dto.PrescriptionResponseDto;
-import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
 import com.ibm.smartclinic.backend.exception.ValidationException;
 import com.ibm.smartclinic.backend.model.Doctor;
 import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.AuthenticatedUser;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
 import com.ibm.smartclinic.backend.service.DoctorService;
 import com.ibm.smartclinic.backend.service.PatientService;
 import com.ibm.smartclinic.backend.service.PrescriptionService;
@@ -15,7 +18,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,7 +31,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/prescriptions")
@@ -35,13 +43,19 @@ public class PrescriptionController {
     private final PrescriptionService prescriptionService;
     private final DoctorService doctorService;
     private final PatientService patientService;
+    private final PrincipalCache principalCache;
+    private final ObjectMapper objectMapper;
 
     public PrescriptionController(@NonNull PrescriptionService prescriptionService,
                                   @NonNull DoctorService doctorService,
-                                  @NonNull PatientService patientService) {
+                                  @NonNull PatientService patientService,
+                                  @NonNull PrincipalCache principalCache,
+                                  @NonNull ObjectMapper objectMapper) {
         this.prescriptionService = prescriptionService;
         this.doctorService = doctorService;
         this.patientService = patientService;
+        this.principalCache = principalCache;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Create a new prescription")
@@ -67,10 +81,20 @@ public class PrescriptionController {
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PreAuthorize("hasRole('DOCTOR')")
-    @GetMapping("/doctor")
-    public ResponseEntity<List<PrescriptionResponseDto>> getDoctorPrescriptions() {
+    @GetMapping(value = "/doctor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PrescriptionResponseDto>> getDoctorPrescriptions(
+            @PageableDefault(size = 100) @NonNull Pageable pageable) {
         Doctor doctor = resolveAuthenticatedDoctor();
-        return ResponseEntity.ok(prescriptionService.getPrescriptionsForDoctor(doctor.getId()));
+        return ListingResponses.page(prescriptionService.getPrescriptionsForDoctor(doctor.getId(), pageable));
+    }
+
+    @Operation(summary = "Stream all prescriptions for authenticated doctor as newline-delimited JSON")
+    @PreAuthorize("hasRole('DOCTOR')")
+    @GetMapping(value = "/doctor", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDoctorPrescriptions() {
+        Long doctorId = resolveAuthenticatedDoctor().getId();
+        return ListingResponses.ndjson(objectMapper,
+                sink -> prescriptionService.streamPrescriptionsForDoctor(doctorId, sink));
     }
 
     @Operation(summary = "Get prescriptions for authenticated patient")
@@ -80,32 +104,40 @@ public class PrescriptionController {
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PreAuthorize("hasRole('PATIENT')")
-    @GetMapping("/patient")
-    public ResponseEntity<List<PrescriptionResponseDto>> getPatientPrescriptions() {
+    @GetMapping(value = "/patient", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PrescriptionResponseDto>> getPatientPrescriptions(
+            @RequestParam(name = "details", defaultValue = "false") boolean details,
+            @PageableDefault(size = 100) @NonNull Pageable pageable) {
         Patient patient = resolveAuthenticatedPatient();
-        return ResponseEntity.ok(prescriptionService.getPrescriptionsForPatient(patient.getId()));
+        return ListingResponses.page(prescriptionService.getPrescriptionsForPatient(patient.getId(), details, pageable));
+    }
+
+    @Operation(summary = "Stream all prescriptions for authenticated patient as newline-delimited JSON")
+    @PreAuthorize("hasRole('PATIENT')")
+    @GetMapping(value = "/patient", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPatientPrescriptions(
+            @RequestParam(name = "details", defaultValue = "false") boolean details) {
+        Long patientId = resolveAuthenticatedPatient().getId();
+        return ListingResponses.ndjson(objectMapper,
+                sink -> prescriptionService.streamPrescriptionsForPatient(patientId, details, sink));
     }
 
     private Doctor resolveAuthenticatedDoctor() {
-        String email = getCurrentUserEmail();
-        return doctorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "email", email));
+        return doctorService.getReference(principalCache.resolveEntityId(getCurrentUser(), UserRole.DOCTOR));
     }
 
     private Patient resolveAuthenticatedPatient() {
-        String email = getCurrentUserEmail();
-        return patientService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Patient", "email", email));
+        return patientService.getReference(principalCache.resolveEntityId(getCurrentUser(), UserRole.PATIENT));
     }
 
-    private String getCurrentUserEmail() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new ValidationException("Authentication is required");
         }
         Object principal = authentication.getPrincipal();
-        if (principal instanceof String email) {
-            return email;
+        if (principal instanceof AuthenticatedUser user) {
+            return user;
         }
         throw new ValidationException("Unsupported authentication principal type");
     }
@@ -0,0 +1,119 @@
+package com.ibm.smartclinic.backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import com.ibm.smartclinic.backend.dto.DailyReportDto;
+import com.ibm.smartclinic.backend.dto.DoctorPatientCountDto;
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.service.LeaderboardService;
+import com.ibm.smartclinic.backend.service.ReportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/reports")
+@SecurityRequirement(name = "bearerAuth")
+public class ReportController {
+
+    private final ReportService reportService;
+    private final LeaderboardService leaderboardService;
+
+    public ReportController(ReportService reportService, LeaderboardService leaderboardService) {
+        this.reportService = reportService;
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/daily")
+    @PreAuthorize("hasRole('DOCTOR')")
+    @Operation(summary = "Get appointment counters per doctor for one day", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Daily report returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<List<DailyReportDto>> getDailyReport(
+            @RequestParam(name = "date", required = true)
+            @NotBlank(message = "Date parameter is required") @NonNull String date) {
+        return ResponseEntity.ok(reportService.getDailyReport(parse("date", date, LocalDate::parse)));
+    }
+
+    @GetMapping("/doctors/{doctorId}/daily")
+    @PreAuthorize("hasRole('DOCTOR')")
+    @Operation(summary = "Get a doctor's appointment counters for each day of a range", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Per-day counters returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<List<DailyReportDto>> getDoctorReport(
+            @PathVariable @Min(value = 1, message = "Doctor ID must be positive") @NonNull Long doctorId,
+            @RequestParam(name = "from", required = true)
+            @NotBlank(message = "From parameter is required") @NonNull String from,
+            @RequestParam(name = "to", required = true)
+            @NotBlank(message = "To parameter is required") @NonNull String to) {
+        return ResponseEntity.ok(reportService.getDoctorReport(doctorId,
+                parse("from", from, LocalDate::parse), parse("to", to, LocalDate::parse)));
+    }
+
+    @GetMapping("/top-doctors")
+    @PreAuthorize("hasRole('DOCTOR')")
+    @Operation(summary = "Rank doctors by distinct patients for a month, a year or a date range", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Leaderboard returned; counts are estimates unless exact=true"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<List<DoctorPatientCountDto>> getTopDoctors(
+            @RequestParam(name = "month", required = false) @Nullable String month,
+            @RequestParam(name = "year", required = false) @Nullable String year,
+            @RequestParam(name = "from", required = false) @Nullable String from,
+            @RequestParam(name = "to", required = false) @Nullable String to,
+            @RequestParam(name = "limit", defaultValue = "10") int limit,
+            @RequestParam(name = "exact", defaultValue = "false") boolean exact) {
+        LocalDate start;
+        LocalDate end;
+        if (month != null) {
+            YearMonth period = parse("month", month, YearMonth::parse);
+            start = period.atDay(1);
+            end = period.atEndOfMonth();
+        } else if (year != null) {
+            Year period = parse("year", year, Year::parse);
+            start = period.atDay(1);
+            end = period.atMonth(12).atEndOfMonth();
+        } else if (from != null && to != null) {
+            start = parse("from", from, LocalDate::parse);
+            end = parse("to", to, LocalDate::parse);
+        } else {
+            throw new ValidationException("One of month, year or from/to is required", "month");
+        }
+        return ResponseEntity.ok(leaderboardService.topDoctors(start, end, limit, exact));
+    }
+
+    /**
+     * Parses a date parameter, reporting a malformed value as a 400 on that parameter.
+     */
+    private static <T> T parse(String name, String value, Function<CharSequence, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException("Invalid " + name + ": " + value, name, ex);
+        }
+    }
+}
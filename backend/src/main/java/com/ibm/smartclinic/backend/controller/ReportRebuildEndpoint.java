@@ -0,0 +1,38 @@
+package com.ibm.smartclinic.backend.controller;
+
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.service.ReportService;
+import java.time.LocalDate;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operator trigger for {@link ReportService#rebuild}, served as {@code POST /actuator/reports} on the
+ * management port. Clinic logins never carry an operator role, so the rebuild is reachable only from
+ * where the scraper and probes are, e.g. {@code curl -X POST localhost:8081/actuator/reports
+ * -H 'Content-Type: application/json' -d '{"from":"2024-01-01","to":"2024-12-31"}'}.
+ * Malformed or missing dates are answered with a 400 by the endpoint infrastructure.
+ */
+@Component
+@Endpoint(id = "reports")
+public class ReportRebuildEndpoint {
+
+    private final ReportService reportService;
+
+    public ReportRebuildEndpoint(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild(@NonNull LocalDate from, @NonNull LocalDate to) {
+        try {
+            return Map.of("rows", reportService.rebuild(from, to));
+        } catch (ValidationException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+}
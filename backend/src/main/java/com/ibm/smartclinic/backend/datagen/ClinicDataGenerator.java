@@ -0,0 +1,400 @@
+package com.ibm.smartclinic.backend.datagen;
+
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.service.ReportService;
+import java.sql.DatabaseMetaData;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * Bulk-loads a synthetic clinic with batched JDBC, bypassing JPA: doctors with weighted
+ * specialities and working hours, patients, and appointments and prescriptions spread over a
+ * window ending {@code datagen.future-days} after "now". Appointments follow each doctor's working
+ * slots on weekdays, busier on Monday mornings and quieter over lunch and on Fridays; past ones are
+ * mostly completed, future ones booked. Rows get explicit ids above the current maxima so an
+ * existing database can be extended, and the id sequences are moved past them afterwards. The
+ * rollup and leaderboard read models are rebuilt at the end; no outbox events are written.
+ * <p>
+ * The output depends only on the settings, so a fixed {@code datagen.seed} and
+ * {@code datagen.end-date} reproduce the same dataset. Accounts are
+ * {@code <label>.doctor<n>@clinic.test} and {@code <label>.patient<n>@clinic.test}, counting from 0.
+ */
+@Component
+@Profile("datagen")
+public class ClinicDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ClinicDataGenerator.class);
+
+    /** Average booked share of a doctor's slots; the busiest doctors reach about 1.5 times this. */
+    private static final double UTILIZATION = 0.65;
+    private static final double COMPLETED_SHARE_OF_PAST = 0.85;
+
+    private static final String[] SPECIALITIES = {
+        "General Practice", "Pediatrics", "Cardiology", "Dermatology", "Orthopedics", "Gynecology",
+        "Psychiatry", "Ophthalmology", "Neurology", "ENT", "Oncology", "Endocrinology"
+    };
+    private static final int[] SPECIALITY_WEIGHTS = {25, 12, 8, 8, 8, 8, 7, 6, 5, 5, 4, 4};
+
+    private static final List<List<LocalTime>> SHIFTS = List.of(
+            slots(LocalTime.of(9, 0), LocalTime.of(12, 0), LocalTime.of(13, 0), LocalTime.of(17, 0)),
+            slots(LocalTime.of(8, 0), LocalTime.of(13, 0)),
+            slots(LocalTime.of(12, 0), LocalTime.of(19, 0)));
+
+    private static final String[] FIRST_NAMES = {
+        "Aisha", "Ben", "Carmen", "David", "Elena", "Farid", "Grace", "Hiro", "Ines", "Jonas",
+        "Kavya", "Liam", "Maya", "Noah", "Olga", "Pedro", "Quinn", "Rosa", "Sami", "Tara"
+    };
+    private static final String[] LAST_NAMES = {
+        "Adams", "Bauer", "Chen", "Diaz", "Evans", "Fischer", "Gupta", "Haddad", "Ito", "Jensen",
+        "Kowalski", "Lopez", "Moreau", "Nguyen", "Okafor", "Patel", "Rossi", "Silva", "Tanaka", "Weber"
+    };
+    private static final String[] NOTES = {
+        "Amoxicillin 500 mg three times daily for 7 days",
+        "Ibuprofen 400 mg as needed, max 3 per day",
+        "Lisinopril 10 mg once daily; recheck blood pressure in 4 weeks",
+        "Metformin 500 mg twice daily with meals",
+        "Cetirizine 10 mg once daily during allergy season",
+        "Physiotherapy twice weekly for 6 weeks",
+        "Hydrocortisone 1% cream twice daily for 10 days",
+        "Rest and fluids; return if fever persists beyond 3 days"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ReportService reportService;
+    private final ConfigurableApplicationContext context;
+    private final boolean mysql;
+
+    @Value("${datagen.label:gen}")
+    private String label;
+    @Value("${datagen.doctors:200}")
+    private int doctors;
+    @Value("${datagen.patients:20000}")
+    private long patients;
+    @Value("${datagen.appointments:500000}")
+    private long appointments;
+    @Value("${datagen.prescriptions:100000}")
+    private long prescriptions;
+    @Value("${datagen.seed:42}")
+    private long seed;
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+    @Value("${datagen.end-date:}")
+    private String endDate;
+    @Value("${datagen.future-days:30}")
+    private int futureDays;
+    @Value("${datagen.password:password}")
+    private String password;
+    @Value("${datagen.rebuild-reports:true}")
+    private boolean rebuildReports;
+    @Value("${datagen.exit:true}")
+    private boolean exitWhenDone;
+
+    public ClinicDataGenerator(@NonNull JdbcTemplate jdbcTemplate,
+                               @NonNull PlatformTransactionManager transactionManager,
+                               @NonNull PasswordEncoder passwordEncoder,
+                               @NonNull ReportService reportService,
+                               @NonNull ConfigurableApplicationContext context) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.reportService = reportService;
+        this.context = context;
+        String product = JdbcUtils.extractDatabaseMetaData(
+                jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+        this.mysql = product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (doctors < 1 || patients < 1 || appointments < 0 || prescriptions < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("datagen.doctors and datagen.patients must be positive, "
+                    + "datagen.appointments and datagen.prescriptions non-negative");
+        }
+        long started = System.nanoTime();
+        // One BCrypt for every generated account
+        String passwordHash = passwordEncoder.encode(password);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        long firstIdentity = maxId("user_identity") + 1;
+        long firstDoctor = maxId("doctor") + 1;
+        long firstPatient = maxId("patient") + 1;
+        List<GeneratedDoctor> generated = insertDoctors(random, firstIdentity, firstDoctor, passwordHash);
+        insertPatients(random, firstIdentity + doctors, firstPatient, passwordHash);
+        long[] written = insertAppointments(random, generated, firstPatient);
+        restartSequences();
+        log.info("Generated {} doctors, {} patients, {} appointments and {} prescriptions in {} s",
+                doctors, patients, written[0], written[1], (System.nanoTime() - started) / 1_000_000_000);
+
+        if (rebuildReports) {
+            long rebuildStarted = System.nanoTime();
+            int rows = reportService.rebuildAll();
+            log.info("Rebuilt {} rollup rows in {} s", rows, (System.nanoTime() - rebuildStarted) / 1_000_000_000);
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private List<GeneratedDoctor> insertDoctors(SplittableRandom random, long firstIdentity, long firstDoctor,
+                                                String passwordHash) {
+        int totalWeight = 0;
+        for (int weight : SPECIALITY_WEIGHTS) {
+            totalWeight += weight;
+        }
+        List<GeneratedDoctor> generated = new ArrayList<>(doctors);
+        List<Object[]> identities = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> times = new ArrayList<>();
+        for (int i = 0; i < doctors; i++) {
+            long id = firstDoctor + i;
+            String email = label + ".doctor" + i + "@clinic.test";
+            int pick = random.nextInt(totalWeight);
+            int speciality = 0;
+            while (pick >= SPECIALITY_WEIGHTS[speciality]) {
+                pick -= SPECIALITY_WEIGHTS[speciality++];
+            }
+            List<LocalTime> shift = SHIFTS.get(random.nextInt(SHIFTS.size()));
+            // Popularity between 0.5 and 1.5 of the average load, mean 1
+            generated.add(new GeneratedDoctor(id, shift, 0.5 + random.nextDouble()));
+
+            identities.add(new Object[] {firstIdentity + i, email, passwordHash, "DOCTOR"});
+            rows.add(new Object[] {id, "Dr " + name(random), email, SPECIALITIES[speciality], passwordHash});
+            for (LocalTime time : shift) {
+                times.add(new Object[] {id, Time.valueOf(time)});
+            }
+            if (rows.size() == batchSize || i == doctors - 1) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    batch("INSERT INTO user_identity (id, email, password_hash, role) VALUES (?, ?, ?, ?)", identities);
+                    batch("INSERT INTO doctor (id, name, email, speciality, password) VALUES (?, ?, ?, ?, ?)", rows);
+                    batch("INSERT INTO doctor_available_times (doctor_id, available_times) VALUES (?, ?)", times);
+                });
+            }
+        }
+        log.info("Inserted {} doctors", doctors);
+        return generated;
+    }
+
+    private void insertPatients(SplittableRandom random, long firstIdentity, long firstPatient, String passwordHash) {
+        List<Object[]> identities = new ArrayList<>(batchSize);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        Progress progress = new Progress("patients", patients);
+        for (long i = 0; i < patients; i++) {
+            String email = label + ".patient" + i + "@clinic.test";
+            identities.add(new Object[] {firstIdentity + i, email, passwordHash, "PATIENT"});
+            rows.add(new Object[] {firstPatient + i, name(random), email,
+                    String.format("555%07d", random.nextInt(10_000_000)), passwordHash});
+            if (rows.size() == batchSize || i == patients - 1) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    batch("INSERT INTO user_identity (id, email, password_hash, role) VALUES (?, ?, ?, ?)", identities);
+                    batch("INSERT INTO patient (id, name, email, phone, password) VALUES (?, ?, ?, ?, ?)", rows);
+                });
+                progress.advance(rows.size());
+            }
+        }
+    }
+
+    /**
+     * Walks every doctor's working slots day by day and books each with a probability scaled to
+     * the doctor's popularity, the weekday and the hour, so slots are never double-booked and
+     * nothing beyond one batch is held in memory. Returns the appointment and prescription counts.
+     */
+    private long[] insertAppointments(SplittableRandom random, List<GeneratedDoctor> generated, long firstPatient) {
+        LocalDate end = StringUtils.hasText(endDate) ? LocalDate.parse(endDate) : LocalDate.now().plusDays(futureDays);
+        double averageShift = generated.stream().mapToInt(doctor -> doctor.shift().size()).average().orElse(1);
+        double perDoctor = (double) appointments / doctors;
+        long windowDays = Math.max(futureDays + 7L,
+                (long) Math.ceil(perDoctor / (UTILIZATION * averageShift * 5 / 7)));
+        LocalDate start = end.minusDays(windowDays);
+        LocalDateTime now = end.minusDays(futureDays).atStartOfDay();
+        double expectedCompleted = appointments * (double) (windowDays - futureDays) / windowDays * COMPLETED_SHARE_OF_PAST;
+        double prescriptionRate = expectedCompleted > 0 ? Math.min(1, prescriptions / expectedCompleted) : 0;
+        if (prescriptions > expectedCompleted) {
+            log.warn("Only about {} completed appointments for {} prescriptions; raise datagen.appointments "
+                    + "or lower datagen.future-days", (long) expectedCompleted, prescriptions);
+        }
+        log.info("Appointments from {} to {} (before {} mostly completed)", start, end, now.toLocalDate());
+
+        long nextAppointment = maxId("appointment") + 1;
+        long nextPrescription = maxId("prescription") + 1;
+        long prescribed = 0;
+        List<Object[]> appointmentRows = new ArrayList<>(batchSize);
+        List<Object[]> prescriptionRows = new ArrayList<>();
+        Progress progress = new Progress("appointments", appointments);
+        for (GeneratedDoctor doctor : generated) {
+            long weekdays = weekdaysBetween(start, end);
+            double probability = perDoctor * doctor.popularity() / (weekdays * doctor.shift().size());
+            for (LocalDate day = start; day.isBefore(end); day = day.plusDays(1)) {
+                double dayFactor = dayFactor(day.getDayOfWeek());
+                if (dayFactor == 0) {
+                    continue;
+                }
+                for (LocalTime time : doctor.shift()) {
+                    if (random.nextDouble() >= probability * dayFactor * hourFactor(time)) {
+                        continue;
+                    }
+                    LocalDateTime slot = day.atTime(time);
+                    AppointmentStatus status = status(random, slot.isBefore(now));
+                    long patient = firstPatient + (long) (patients * Math.pow(random.nextDouble(), 1.6));
+                    long appointmentId = nextAppointment++;
+                    appointmentRows.add(new Object[] {appointmentId, Timestamp.valueOf(slot), doctor.id(), patient, status.name()});
+                    if (status == AppointmentStatus.COMPLETED && random.nextDouble() < prescriptionRate) {
+                        prescriptionRows.add(new Object[] {nextPrescription++, appointmentId,
+                                NOTES[random.nextInt(NOTES.length)]});
+                        prescribed++;
+                    }
+                    if (appointmentRows.size() == batchSize) {
+                        flushAppointments(appointmentRows, prescriptionRows);
+                        progress.advance(batchSize);
+                    }
+                }
+            }
+        }
+        int remaining = appointmentRows.size();
+        flushAppointments(appointmentRows, prescriptionRows);
+        progress.advance(remaining);
+        return new long[] {progress.done, prescribed};
+    }
+
+    private void flushAppointments(List<Object[]> appointmentRows, List<Object[]> prescriptionRows) {
+        if (appointmentRows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            batch("INSERT INTO appointment (id, appointment_time, doctor_id, patient_id, status) VALUES (?, ?, ?, ?, ?)",
+                    appointmentRows);
+            batch("INSERT INTO prescription (id, appointment_id, notes) VALUES (?, ?, ?)", prescriptionRows);
+        });
+    }
+
+    /**
+     * Moves each pooled id sequence past the generated ids, as the V9/V10 migrations do at install.
+     */
+    private void restartSequences() {
+        for (String table : new String[] {"user_identity", "doctor", "patient", "appointment", "prescription"}) {
+            String next = "(SELECT COALESCE(MAX(id), 0) + 50 FROM " + table + ")";
+            jdbcTemplate.execute(mysql
+                    ? "UPDATE " + table + "_seq SET next_val = " + next
+                    : "ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+        }
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private static AppointmentStatus status(SplittableRandom random, boolean past) {
+        double roll = random.nextDouble();
+        if (past) {
+            return roll < COMPLETED_SHARE_OF_PAST ? AppointmentStatus.COMPLETED
+                    : roll < 0.95 ? AppointmentStatus.CANCELLED : AppointmentStatus.BOOKED;
+        }
+        return roll < 0.92 ? AppointmentStatus.BOOKED : AppointmentStatus.CANCELLED;
+    }
+
+    private static double dayFactor(DayOfWeek day) {
+        return switch (day) {
+            case MONDAY -> 1.15;
+            case TUESDAY -> 1.05;
+            case WEDNESDAY, THURSDAY -> 1.0;
+            case FRIDAY -> 0.8;
+            case SATURDAY, SUNDAY -> 0;
+        };
+    }
+
+    private static double hourFactor(LocalTime time) {
+        if (time.getHour() < 12) {
+            return 1.15;
+        }
+        return time.getHour() < 14 ? 0.8 : 0.95;
+    }
+
+    private static long weekdaysBetween(LocalDate start, LocalDate end) {
+        long days = ChronoUnit.DAYS.between(start, end);
+        long weekdays = days / 7 * 5;
+        for (LocalDate day = start.plusDays(days / 7 * 7); day.isBefore(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek().getValue() <= 5) {
+                weekdays++;
+            }
+        }
+        return Math.max(weekdays, 1);
+    }
+
+    private static String name(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static List<LocalTime> slots(LocalTime... ranges) {
+        List<LocalTime> slots = new ArrayList<>();
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (LocalTime time = ranges[i]; time.isBefore(ranges[i + 1]); time = time.plusMinutes(15)) {
+                slots.add(time);
+            }
+        }
+        return List.copyOf(slots);
+    }
+
+    private record GeneratedDoctor(long id, List<LocalTime> shift, double popularity) {
+    }
+
+    private static final class Progress {
+
+        private final String what;
+        private final long total;
+        private final long started = System.nanoTime();
+        private final long step;
+        private long done;
+        private long nextReport;
+
+        Progress(String what, long total) {
+            this.what = what;
+            this.total = total;
+            this.step = Math.max(total / 20, 1);
+            this.nextReport = step;
+        }
+
+        void advance(long rows) {
+            done += rows;
+            if (done >= nextReport) {
+                double seconds = Math.max((System.nanoTime() - started) / 1e9, 1e-3);
+                log.info("{}: {} of ~{} ({} rows/s)", what, done, total, (long) (done / seconds));
+                nextReport = done + step;
+            }
+        }
+    }
+}
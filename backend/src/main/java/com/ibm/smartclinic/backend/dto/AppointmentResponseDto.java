@@ -1,5 +1,6 @@
 package com.ibm.smartclinic.backend.dto;
 
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
 import java.time.LocalDateTime;
 
 public class AppointmentResponseDto {
@@ -19,6 +20,17 @@ public class AppointmentResponseDto {
         this.status = status;
     }
 
+    /**
+     * Flat constructor for JPQL {@code select new} projections, so listings are built from a
+     * single joined row without hydrating Appointment, Doctor or Patient entities.
+     */
+    public AppointmentResponseDto(Long id, LocalDateTime appointmentTime,
+                                  Long doctorId, String doctorName, String doctorEmail, String doctorSpeciality,
+                                  Long patientId, AppointmentStatus status) {
+        this(id, appointmentTime, new DoctorResponseDto(doctorId, doctorName, doctorEmail, doctorSpeciality),
+                patientId, status != null ? status.name() : null);
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public LocalDateTime getAppointmentTime() { return appointmentTime; }
@@ -0,0 +1,41 @@
+package com.ibm.smartclinic.backend.dto;
+
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Moves one booked appointment to COMPLETED or CANCELLED.
+ */
+public class AppointmentTransitionDto {
+
+    @NotNull(message = "Appointment ID is required")
+    @Min(value = 1, message = "Appointment ID must be positive")
+    private Long appointmentId;
+
+    @NotNull(message = "Target status is required")
+    private AppointmentStatus status;
+
+    public AppointmentTransitionDto() {}
+
+    public AppointmentTransitionDto(Long appointmentId, AppointmentStatus status) {
+        this.appointmentId = appointmentId;
+        this.status = status;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AppointmentStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ibm.smartclinic.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Several bookings for the authenticated patient, e.g. a weekly series, handled in one transaction.
+ */
+public class BatchBookingRequestDto {
+
+    @NotEmpty(message = "At least one booking is required")
+    private List<@Valid AppointmentRequestDto> items;
+
+    public List<AppointmentRequestDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AppointmentRequestDto> items) {
+        this.items = items;
+    }
+}
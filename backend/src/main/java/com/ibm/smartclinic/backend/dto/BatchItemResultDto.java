@@ -0,0 +1,50 @@
+package com.ibm.smartclinic.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one batch item, addressed by its position in the request. Successful items carry the
+ * appointment id and resulting status; rejected items carry an error code and message.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+    private int index;
+    private boolean success;
+    private Long appointmentId;
+    private String status;
+    private String code;
+    private String message;
+
+    public BatchItemResultDto() {}
+
+    public static BatchItemResultDto success(int index, Long appointmentId, String status) {
+        BatchItemResultDto result = new BatchItemResultDto();
+        result.index = index;
+        result.success = true;
+        result.appointmentId = appointmentId;
+        result.status = status;
+        return result;
+    }
+
+    public static BatchItemResultDto failure(int index, Long appointmentId, String code, String message) {
+        BatchItemResultDto result = new BatchItemResultDto();
+        result.index = index;
+        result.appointmentId = appointmentId;
+        result.code = code;
+        result.message = message;
+        return result;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,27 @@
+package com.ibm.smartclinic.backend.dto;
+
+import java.util.List;
+
+/**
+ * Per-item outcomes of a batch request, in request order.
+ */
+public class BatchResultDto {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultDto> items;
+
+    public BatchResultDto() {}
+
+    public BatchResultDto(List<BatchItemResultDto> items) {
+        this.items = items;
+        this.succeeded = (int) items.stream().filter(BatchItemResultDto::isSuccess).count();
+        this.failed = items.size() - succeeded;
+    }
+
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    public List<BatchItemResultDto> getItems() { return items; }
+    public void setItems(List<BatchItemResultDto> items) { this.items = items; }
+}
@@ -0,0 +1,22 @@
+package com.ibm.smartclinic.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Status transitions for several of the authenticated doctor's appointments, handled in one transaction.
+ */
+public class BatchTransitionRequestDto {
+
+    @NotEmpty(message = "At least one transition is required")
+    private List<@Valid AppointmentTransitionDto> items;
+
+    public List<AppointmentTransitionDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AppointmentTransitionDto> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ibm.smartclinic.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is an opaque token for the following
+ * slice and is absent on the last one; {@code total} is only present when explicitly requested.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final Long total;
+
+    public CursorPage(List<T> items, String nextCursor, Long total) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf, Long total) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, total);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)), total);
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public Long getTotal() { return total; }
+}
@@ -0,0 +1,78 @@
+package com.ibm.smartclinic.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One doctor's appointment counters for one day. {@code booked} counts appointments still in the
+ * BOOKED state; {@code total} includes completed and cancelled ones.
+ */
+public class DailyReportDto {
+
+    private Long doctorId;
+    private String doctorName;
+    private LocalDate date;
+    private int booked;
+    private int completed;
+    private int cancelled;
+
+    public DailyReportDto(Long doctorId, String doctorName, LocalDate date, int booked, int completed, int cancelled) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.date = date;
+        this.booked = booked;
+        this.completed = completed;
+        this.cancelled = cancelled;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getBooked() {
+        return booked;
+    }
+
+    public void setBooked(int booked) {
+        this.booked = booked;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(int cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public int getTotal() {
+        return booked + completed + cancelled;
+    }
+}
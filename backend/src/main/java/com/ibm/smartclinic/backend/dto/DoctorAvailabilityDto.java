@@ -0,0 +1,33 @@
+package com.ibm.smartclinic.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Earliest free slots of one doctor, as returned by the availability search.
+ */
+public class DoctorAvailabilityDto {
+
+    private Long doctorId;
+    private String doctorName;
+    private String speciality;
+    private List<LocalDateTime> slots;
+
+    public DoctorAvailabilityDto() {}
+
+    public DoctorAvailabilityDto(Long doctorId, String doctorName, String speciality, List<LocalDateTime> slots) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.speciality = speciality;
+        this.slots = slots;
+    }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+    public String getDoctorName() { return doctorName; }
+    public void setDoctorName(String doctorName) { this.doctorName = doctorName; }
+    public String getSpeciality() { return speciality; }
+    public void setSpeciality(String speciality) { this.speciality = speciality; }
+    public List<LocalDateTime> getSlots() { return slots; }
+    public void setSlots(List<LocalDateTime> slots) { this.slots = slots; }
+}
@@ -0,0 +1,52 @@
+package com.ibm.smartclinic.backend.dto;
+
+/**
+ * Distinct patients a doctor saw over a period. {@code exact} is false when the count is a
+ * HyperLogLog estimate rather than a recount of the appointment table.
+ */
+public class DoctorPatientCountDto {
+
+    private Long doctorId;
+    private String doctorName;
+    private long patients;
+    private boolean exact;
+
+    public DoctorPatientCountDto(Long doctorId, String doctorName, long patients, boolean exact) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.patients = patients;
+        this.exact = exact;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public long getPatients() {
+        return patients;
+    }
+
+    public void setPatients(long patients) {
+        this.patients = patients;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    public void setExact(boolean exact) {
+        this.exact = exact;
+    }
+}
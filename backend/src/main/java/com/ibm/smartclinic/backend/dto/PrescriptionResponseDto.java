@@ -1,9 +1,16 @@
 package com.ibm.smartclinic.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+
 public class PrescriptionResponseDto {
     private Long id;
     private String notes;
     private Long appointmentId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String doctorName;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime appointmentTime;
 
     public PrescriptionResponseDto() {}
 
@@ -13,10 +20,25 @@ public class PrescriptionResponseDto {
         this.appointmentId = appointmentId;
     }
 
+    /**
+     * Detailed projection for JPQL {@code select new}; the extra fields are omitted from JSON when
+     * the basic projection is used.
+     */
+    public PrescriptionResponseDto(Long id, String notes, Long appointmentId,
+                                   String doctorName, LocalDateTime appointmentTime) {
+        this(id, notes, appointmentId);
+        this.doctorName = doctorName;
+        this.appointmentTime = appointmentTime;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
     public Long getAppointmentId() { return appointmentId; }
     public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
-}
\ No newline at end of file
+    public String getDoctorName() { return doctorName; }
+    public void setDoctorName(String doctorName) { this.doctorName = doctorName; }
+    public LocalDateTime getAppointmentTime() { return appointmentTime; }
+    public void setAppointmentTime(LocalDateTime appointmentTime) { this.appointmentTime = appointmentTime; }
+}
@@ -0,0 +1,13 @@
+package com.ibm.smartclinic.backend.event;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * External destination for relayed events (a file, a broker). At most one sink bean is active;
+ * a batch is marked published only after {@link #publish} returns.
+ */
+public interface EventSink {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+}
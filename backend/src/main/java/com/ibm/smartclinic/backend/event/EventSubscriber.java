@@ -0,0 +1,15 @@
+package com.ibm.smartclinic.backend.event;
+
+import java.util.List;
+
+/**
+ * In-process consumer of relayed events. Beans implementing this interface are picked up by the
+ * {@link OutboxRelay}. Delivery is at least once and in id order, which preserves each doctor's
+ * order; a subscriber that throws leaves the batch unpublished, and it is delivered again on the
+ * next relay run.
+ */
+@FunctionalInterface
+public interface EventSubscriber {
+
+    void onEvents(List<OutboxEvent> events);
+}
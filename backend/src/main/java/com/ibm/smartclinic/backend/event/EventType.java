@@ -0,0 +1,8 @@
+package com.ibm.smartclinic.backend.event;
+
+public enum EventType {
+    APPOINTMENT_BOOKED,
+    APPOINTMENT_COMPLETED,
+    APPOINTMENT_CANCELLED,
+    PRESCRIPTION_ISSUED
+}
@@ -0,0 +1,53 @@
+package com.ibm.smartclinic.backend.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local-development sink that appends each event as one JSON line. Enabled with
+ * {@code events.sink=file}; a batch is flushed before the relay marks it published.
+ */
+@Component
+@ConditionalOnProperty(name = "events.sink", havingValue = "file")
+public class NdjsonFileEventSink implements EventSink {
+
+    private final ObjectWriter writer;
+    private final BufferedWriter out;
+
+    public NdjsonFileEventSink(@NonNull ObjectMapper objectMapper,
+                               @Value("${events.sink.file.path:data/events.ndjson}") String path) throws IOException {
+        this.writer = objectMapper.writer();
+        Path file = Path.of(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        for (OutboxEvent event : events) {
+            out.write(writer.writeValueAsString(event));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ibm.smartclinic.backend.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+
+/**
+ * One relayed domain event. {@code doctorSequence} increases by one per event of the same doctor,
+ * so a subscriber can detect gaps and skip redeliveries; {@code payload} is a JSON object.
+ */
+public record OutboxEvent(long id,
+                          long doctorId,
+                          long doctorSequence,
+                          EventType type,
+                          long aggregateId,
+                          @JsonRawValue String payload,
+                          LocalDateTime createdAt) {
+}
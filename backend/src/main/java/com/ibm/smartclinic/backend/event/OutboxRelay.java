@@ -0,0 +1,130 @@
+package com.ibm.smartclinic.backend.event;
+
+import com.ibm.smartclinic.backend.repository.OutboxRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the outbox and hands unpublished events, oldest first, to every {@link EventSubscriber}
+ * and then to the configured {@link EventSink}. Because writers hold their doctor's partition lock
+ * until commit, a doctor's events become visible in sequence order, and delivering in id order
+ * preserves it. A batch is marked published only once every consumer has accepted it, so a
+ * failure means redelivery, never loss.
+ *
+ * <p>With several instances on one database, each run first takes the lease in
+ * {@code outbox_relay_lease} and renews it before every batch; instances that find it held skip the
+ * run. Only one instance delivers at a time, so batches are neither duplicated nor interleaved.
+ * The lease is released when the outbox is drained, and one left by a crashed instance expires after
+ * {@code events.relay.lease-seconds}, which must exceed the time to deliver one batch.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final List<EventSubscriber> subscribers;
+    private final EventSink sink;
+    private final int batchSize;
+    private final boolean enabled;
+    private final int retentionHours;
+    private final int leaseSeconds;
+    private final String owner = UUID.randomUUID().toString();
+
+    public OutboxRelay(@NonNull OutboxRepository outboxRepository,
+                       @NonNull ObjectProvider<EventSubscriber> subscribers,
+                       @NonNull ObjectProvider<EventSink> sink,
+                       @Value("${events.relay.batch-size:500}") int batchSize,
+                       @Value("${events.relay.enabled:true}") boolean enabled,
+                       @Value("${events.outbox.retention-hours:24}") int retentionHours,
+                       @Value("${events.relay.lease-seconds:30}") int leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.subscribers = new CopyOnWriteArrayList<>(subscribers.orderedStream().toList());
+        this.sink = sink.getIfAvailable();
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+        this.retentionHours = retentionHours;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Registers a subscriber outside the bean container; the returned handle removes it again.
+     */
+    @NonNull
+    public Runnable subscribe(@NonNull EventSubscriber subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    @Scheduled(fixedDelayString = "${events.relay.interval-ms:1000}")
+    public void poll() {
+        if (enabled) {
+            try {
+                relayPending();
+            } catch (RuntimeException ex) {
+                log.warn("Outbox relay run failed; unpublished events will be retried", ex);
+            }
+        }
+    }
+
+    /**
+     * Delivers batches until the outbox is drained and returns the number of events published.
+     * Returns 0 without reading the outbox while another instance holds the relay lease.
+     */
+    public synchronized int relayPending() {
+        if (!outboxRepository.acquireRelayLease(owner, leaseSeconds)) {
+            return 0;
+        }
+        try {
+            int published = 0;
+            while (true) {
+                List<OutboxEvent> batch = outboxRepository.findUnpublished(batchSize);
+                if (batch.isEmpty()) {
+                    return published;
+                }
+                deliver(batch);
+                outboxRepository.markPublished(batch.stream().map(OutboxEvent::id).toList(), LocalDateTime.now());
+                published += batch.size();
+                if (batch.size() < batchSize || !outboxRepository.acquireRelayLease(owner, leaseSeconds)) {
+                    return published;
+                }
+            }
+        } finally {
+            outboxRepository.releaseRelayLease(owner);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        if (enabled) {
+            int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+            if (deleted > 0) {
+                log.debug("Purged {} published outbox events", deleted);
+            }
+        }
+    }
+
+    private void deliver(List<OutboxEvent> batch) {
+        for (EventSubscriber subscriber : subscribers) {
+            subscriber.onEvents(batch);
+        }
+        if (sink != null) {
+            try {
+                sink.publish(batch);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
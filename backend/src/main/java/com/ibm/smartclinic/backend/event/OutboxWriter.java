@@ -0,0 +1,110 @@
+package com.ibm.smartclinic.backend.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.model.Prescription;
+import com.ibm.smartclinic.backend.repository.OutboxRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Appends domain events to the outbox inside the caller's transaction, so an event exists if and
+ * only if its change committed. Events are grouped per doctor and the doctors' partition rows are
+ * locked in id order, which keeps concurrent multi-doctor batches from deadlocking.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(@NonNull OutboxRepository outboxRepository, @NonNull ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentsBooked(@NonNull Collection<Appointment> appointments) {
+        Map<Long, List<Object[]>> byDoctor = new TreeMap<>();
+        for (Appointment appointment : appointments) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("appointmentId", appointment.getId());
+            payload.put("doctorId", appointment.getDoctor().getId());
+            payload.put("patientId", appointment.getPatient().getId());
+            payload.put("appointmentTime", appointment.getAppointmentTime());
+            payload.put("status", AppointmentStatus.BOOKED);
+            byDoctor.computeIfAbsent(appointment.getDoctor().getId(), id -> new ArrayList<>())
+                    .add(event(EventType.APPOINTMENT_BOOKED, appointment.getId(), payload));
+        }
+        append(byDoctor);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentStatusChanged(@NonNull Long appointmentId, @NonNull Long doctorId,
+                                         @NonNull LocalDateTime appointmentTime, @NonNull AppointmentStatus status) {
+        appointmentStatusChanged(List.<Object[]>of(new Object[] {appointmentId, doctorId, appointmentTime}), status);
+    }
+
+    /**
+     * Status changes of several appointments, each given as {@code [appointmentId, doctorId,
+     * appointmentTime]}, in the order they were applied.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentStatusChanged(@NonNull List<Object[]> appointments, @NonNull AppointmentStatus status) {
+        EventType type = status == AppointmentStatus.CANCELLED
+                ? EventType.APPOINTMENT_CANCELLED : EventType.APPOINTMENT_COMPLETED;
+        Map<Long, List<Object[]>> byDoctor = new TreeMap<>();
+        for (Object[] row : appointments) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("appointmentId", row[0]);
+            payload.put("doctorId", row[1]);
+            payload.put("appointmentTime", row[2]);
+            payload.put("status", status);
+            byDoctor.computeIfAbsent((Long) row[1], id -> new ArrayList<>())
+                    .add(event(type, (Long) row[0], payload));
+        }
+        append(byDoctor);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void prescriptionIssued(@NonNull Prescription prescription) {
+        Appointment appointment = prescription.getAppointment();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("prescriptionId", prescription.getId());
+        payload.put("appointmentId", appointment.getId());
+        payload.put("doctorId", appointment.getDoctor().getId());
+        payload.put("patientId", appointment.getPatient().getId());
+        append(Map.of(appointment.getDoctor().getId(),
+                List.<Object[]>of(event(EventType.PRESCRIPTION_ISSUED, prescription.getId(), payload))));
+    }
+
+    private void append(Map<Long, List<Object[]>> byDoctor) {
+        List<Object[]> rows = new ArrayList<>();
+        byDoctor.forEach((doctorId, events) -> {
+            long sequence = outboxRepository.reserveSequence(doctorId, events.size());
+            for (Object[] event : events) {
+                rows.add(new Object[] {doctorId, sequence++, event[0], event[1], event[2]});
+            }
+        });
+        outboxRepository.insertAll(rows);
+    }
+
+    private Object[] event(EventType type, Long aggregateId, Map<String, Object> payload) {
+        try {
+            return new Object[] {type.name(), aggregateId, objectMapper.writeValueAsString(payload)};
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + type + " event", ex);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -13,6 +14,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Global exception handler for the application.
@@ -51,6 +53,23 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), errorCode, request);
     }
 
+    /**
+     * Handles ServiceOverloadedException.
+     * Returns 503 Service Unavailable with a Retry-After hint.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiError> handleServiceOverloaded(
+            ServiceOverloadedException ex,
+            HttpServletRequest request) {
+
+        log.warn("Service overloaded: {}", request.getRequestURI());
+        ApiError apiError = createApiError(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), "SERVICE_OVERLOADED", request);
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(apiError);
+    }
+
     /**
      * Handles ValidationException.
      * Returns 400 Bad Request.
@@ -140,6 +159,20 @@ public class GlobalExceptionHandler {
                 return buildErrorResponse(HttpStatus.UNAUTHORIZED, ex.getMessage(), "AUTHENTICATION_FAILED", request);
     }
 
+    /**
+     * Handles ResponseStatusException, e.g. an actuator operation rejecting its arguments.
+     * Returns the status the exception carries.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiError> handleResponseStatus(
+            ResponseStatusException ex,
+            HttpServletRequest request) {
+
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
+        log.debug("Request rejected with {}: {}", status, ex.getReason());
+        return buildErrorResponse(status, ex.getReason(), status.name(), request);
+    }
+
     /**
      * Handles generic Exception.
      * Returns 500 Internal Server Error.
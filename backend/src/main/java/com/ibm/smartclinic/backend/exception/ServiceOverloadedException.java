@@ -0,0 +1,21 @@
+package com.ibm.smartclinic.backend.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a bounded resource refuses new work.
+ * Examples: password hashing pool saturated during a login burst.
+ * HTTP Status: 503 Service Unavailable (with Retry-After)
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
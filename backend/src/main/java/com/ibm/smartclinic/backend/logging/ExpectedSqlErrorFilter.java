@@ -0,0 +1,47 @@
+package com.ibm.smartclinic.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Marker;
+
+/**
+ * Drops Hibernate's JDBC error logging while the current thread runs a statement whose constraint
+ * violation is an expected outcome, such as a slot reservation that turns into a 409. The caller
+ * still gets the exception; anything it does not translate reaches the generic handler, which logs
+ * it. Registered in logback-spring.xml.
+ */
+public class ExpectedSqlErrorFilter extends TurboFilter {
+
+    private static final Set<String> JDBC_LOGGERS = Set.of(
+            "org.hibernate.engine.jdbc.spi.SqlExceptionHelper",
+            "org.hibernate.orm.jdbc.batch");
+
+    private static final ThreadLocal<Boolean> EXPECTING = new ThreadLocal<>();
+
+    /**
+     * Runs {@code action} with JDBC error logging suppressed on this thread.
+     */
+    public static <T> T expectingConstraintViolation(Supplier<T> action) {
+        if (EXPECTING.get() != null) {
+            return action.get();
+        }
+        EXPECTING.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            EXPECTING.remove();
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (EXPECTING.get() != null && JDBC_LOGGERS.contains(logger.getName())) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
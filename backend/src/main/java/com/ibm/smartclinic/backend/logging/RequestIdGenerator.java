@@ -0,0 +1,22 @@
+package com.ibm.smartclinic.backend.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids for requests that arrive without {@code X-Request-ID}: a random per-process prefix followed
+ * by a counter, e.g. {@code 5c0d3a91e7f2-1b4}. Unique within the process and unlikely to collide
+ * across instances; unlike {@code UUID.randomUUID()} no SecureRandom is involved.
+ */
+public final class RequestIdGenerator {
+
+    private static final String PREFIX = String.format("%012x-", ThreadLocalRandom.current().nextLong() & 0xFFFF_FFFF_FFFFL);
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private RequestIdGenerator() {
+    }
+
+    public static String next() {
+        return PREFIX.concat(Long.toHexString(COUNTER.incrementAndGet()));
+    }
+}
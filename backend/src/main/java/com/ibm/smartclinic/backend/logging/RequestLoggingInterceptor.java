@@ -3,6 +3,7 @@ package com.ibm.smartclinic.backend.logging;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
@@ -10,29 +11,46 @@ import org.springframework.web.servlet.HandlerInterceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Interceptor for logging HTTP requests and responses with correlation ID.
+ * Lines go to this class's logger, which {@code logback-spring.xml} routes through a bounded
+ * asynchronous appender; 2xx responses can be sampled with {@code logging.access.sample-rate}.
  */
 @Component
 public class RequestLoggingInterceptor implements HandlerInterceptor {
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
     private static final String REQUEST_ID_HEADER = "X-Request-ID";
     private static final String MDC_REQUEST_ID_KEY = "requestId";
-    private static final String START_TIME = "requestStartTime";
+    private static final String REQUEST_ID = "requestLoggingId";
+    private static final String START_TIME = "requestStartNanos";
+
+    private final double successSampleRate;
+
+    public RequestLoggingInterceptor(@Value("${logging.access.sample-rate:1.0}") double successSampleRate) {
+        if (successSampleRate < 0 || successSampleRate > 1) {
+            throw new IllegalArgumentException("logging.access.sample-rate must be between 0 and 1");
+        }
+        this.successSampleRate = successSampleRate;
+    }
 
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request,
                              @NonNull HttpServletResponse response,
                              @NonNull Object handler) {
-        String requestId = request.getHeader(REQUEST_ID_HEADER);
-        if (requestId == null || requestId.isEmpty()) {
-            requestId = UUID.randomUUID().toString();
+        // An async dispatch runs the interceptor again; keep the id and start time of the original request
+        String requestId = (String) request.getAttribute(REQUEST_ID);
+        if (requestId == null) {
+            requestId = request.getHeader(REQUEST_ID_HEADER);
+            if (requestId == null || requestId.isEmpty()) {
+                requestId = RequestIdGenerator.next();
+            }
+            request.setAttribute(REQUEST_ID, requestId);
+            request.setAttribute(START_TIME, System.nanoTime());
+            response.setHeader(REQUEST_ID_HEADER, requestId);
         }
         MDC.put(MDC_REQUEST_ID_KEY, requestId);
-        response.setHeader(REQUEST_ID_HEADER, requestId);
-        request.setAttribute(START_TIME, System.currentTimeMillis());
         return true;
     }
 
@@ -41,13 +59,22 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
                                 @NonNull HttpServletResponse response,
                                 @NonNull Object handler,
                                 @Nullable Exception ex) {
-        Long startTime = (Long) request.getAttribute(START_TIME);
-        long duration = (startTime != null) ? (System.currentTimeMillis() - startTime) : -1;
-        String requestId = MDC.get(MDC_REQUEST_ID_KEY);
-        String method = request.getMethod();
-        String path = request.getRequestURI();
-        int status = response.getStatus();
-        logger.info("[{}] {} {} -> {} ({} ms)", requestId, method, path, status, duration);
-        MDC.remove(MDC_REQUEST_ID_KEY);
+        try {
+            int status = response.getStatus();
+            if (logger.isInfoEnabled() && sampled(status)) {
+                Object startTime = request.getAttribute(START_TIME);
+                long durationMicros = (startTime instanceof Long start) ? (System.nanoTime() - start) / 1_000 : -1;
+                logger.info("[{}] {} {} -> {} ({} us)", request.getAttribute(REQUEST_ID),
+                        request.getMethod(), request.getRequestURI(), status, durationMicros);
+            }
+        } finally {
+            MDC.remove(MDC_REQUEST_ID_KEY);
+        }
+    }
+
+    private boolean sampled(int status) {
+        return successSampleRate >= 1
+                || status < 200 || status >= 300
+                || ThreadLocalRandom.current().nextDouble() < successSampleRate;
     }
 }
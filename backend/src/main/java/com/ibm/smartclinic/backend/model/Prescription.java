@@ -4,13 +4,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.ManyToOne;
 
 @Entity
 public class Prescription {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prescription_seq")
+    @SequenceGenerator(name = "prescription_seq", sequenceName = "prescription_seq", allocationSize = 50)
     private Long id;
 
     @jakarta.validation.constraints.NotBlank(message = "Prescription notes must not be blank")
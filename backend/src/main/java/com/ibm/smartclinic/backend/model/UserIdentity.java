@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
@@ -22,7 +23,8 @@ import java.time.LocalDateTime;
 public class UserIdentity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_identity_seq")
+    @SequenceGenerator(name = "user_identity_seq", sequenceName = "user_identity_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 100, nullable = false)
@@ -1,31 +1,164 @@
 package com.ibm.smartclinic.backend.repository;
 
+import com.ibm.smartclinic.backend.dto.AppointmentResponseDto;
 import com.ibm.smartclinic.backend.model.Appointment;
-import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-        Optional<Appointment> findByDoctorAndAppointmentTime(
-            @NonNull Doctor doctor,
-            @NonNull LocalDateTime appointmentTime
-        );
+
+        /**
+         * Listing projection: one joined row per appointment, mapped straight into the response DTO.
+         */
+        String RESPONSE_PROJECTION = "select new com.ibm.smartclinic.backend.dto.AppointmentResponseDto("
+                + "a.id, a.appointmentTime, d.id, d.name, d.email, d.speciality, a.patient.id, a.status) "
+                + "from Appointment a join a.doctor d ";
+
+        /**
+         * Rows per JDBC round trip when streaming. MySQL Connector/J only honours it with
+         * {@code useCursorFetch=true} on the connection URL.
+         */
+        String STREAM_FETCH_SIZE = "500";
 
         @NonNull
         Page<Appointment> findAll(@NonNull Pageable pageable);
 
         @NonNull
-        Page<Appointment> findByPatientId(@NonNull Long patientId, @NonNull Pageable pageable);
+        @Query(value = RESPONSE_PROJECTION + "where a.patient.id = :patientId",
+                countQuery = "select count(a) from Appointment a where a.patient.id = :patientId")
+        Page<AppointmentResponseDto> findResponsesByPatientId(@Param("patientId") @NonNull Long patientId,
+                                                              @NonNull Pageable pageable);
+
+        /**
+         * First keyset page of a patient's appointments, ordered by {@code (appointmentTime, id)} and
+         * served by idx_appointment_patient_time.
+         */
+        @NonNull
+        @Query(RESPONSE_PROJECTION + "where a.patient.id = :patientId order by a.appointmentTime, a.id")
+        List<AppointmentResponseDto> findResponsePageByPatientId(@Param("patientId") @NonNull Long patientId,
+                                                                 @NonNull Pageable limit);
+
+        /**
+         * Keyset page strictly after {@code (afterTime, afterId)}.
+         */
+        @NonNull
+        @Query(RESPONSE_PROJECTION + "where a.patient.id = :patientId "
+                + "and (a.appointmentTime > :afterTime or (a.appointmentTime = :afterTime and a.id > :afterId)) "
+                + "order by a.appointmentTime, a.id")
+        List<AppointmentResponseDto> findResponsePageByPatientIdAfter(@Param("patientId") @NonNull Long patientId,
+                                                                      @Param("afterTime") @NonNull LocalDateTime afterTime,
+                                                                      @Param("afterId") @NonNull Long afterId,
+                                                                      @NonNull Pageable limit);
+
+        long countByPatientId(@NonNull Long patientId);
+
+        /**
+         * One bounded page of a patient's history, newest first. Returned as a Slice, so no count is issued.
+         */
+        @NonNull
+        @Query(RESPONSE_PROJECTION + "where a.patient.id = :patientId order by a.appointmentTime desc, a.id desc")
+        Slice<AppointmentResponseDto> findHistoryByPatientId(@Param("patientId") @NonNull Long patientId,
+                                                             @NonNull Pageable pageable);
+
+        @NonNull
+        @Query(RESPONSE_PROJECTION + "where d.id = :doctorId order by a.appointmentTime desc, a.id desc")
+        Slice<AppointmentResponseDto> findHistoryByDoctorId(@Param("doctorId") @NonNull Long doctorId,
+                                                            @NonNull Pageable pageable);
 
+        /**
+         * Full history as a forward-only cursor; must be consumed and closed inside a transaction.
+         */
         @NonNull
-        List<Appointment> findByPatientIdOrderByAppointmentTimeDesc(@NonNull Long patientId);
+        @QueryHints({
+                @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query(RESPONSE_PROJECTION + "where a.patient.id = :patientId order by a.appointmentTime desc, a.id desc")
+        Stream<AppointmentResponseDto> streamHistoryByPatientId(@Param("patientId") @NonNull Long patientId);
 
         @NonNull
-        List<Appointment> findByDoctorIdOrderByAppointmentTimeDesc(@NonNull Long doctorId);
+        @QueryHints({
+                @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query(RESPONSE_PROJECTION + "where d.id = :doctorId order by a.appointmentTime desc, a.id desc")
+        Stream<AppointmentResponseDto> streamHistoryByDoctorId(@Param("doctorId") @NonNull Long doctorId);
+
+        /**
+         * Range lookup over {@code [start, end)} served by idx_appointment_doctor_time.
+         */
+        @NonNull
+        @Query("select a from Appointment a join fetch a.doctor join fetch a.patient "
+                + "where a.doctor.id = :doctorId "
+                + "and a.appointmentTime >= :start and a.appointmentTime < :end "
+                + "order by a.appointmentTime")
+        List<Appointment> findByDoctorIdAndTimeRange(@Param("doctorId") @NonNull Long doctorId,
+                                                     @Param("start") @NonNull LocalDateTime start,
+                                                     @Param("end") @NonNull LocalDateTime end);
+
+        /**
+         * Start times of every appointment still holding a slot (anything but CANCELLED) in {@code [start, end)}.
+         */
+        @NonNull
+        @Query("select a.appointmentTime from Appointment a "
+                + "where a.doctor.id = :doctorId "
+                + "and a.appointmentTime >= :start and a.appointmentTime < :end "
+                + "and a.status <> com.ibm.smartclinic.backend.model.AppointmentStatus.CANCELLED")
+        List<LocalDateTime> findOccupiedSlotTimes(@Param("doctorId") @NonNull Long doctorId,
+                                                  @Param("start") @NonNull LocalDateTime start,
+                                                  @Param("end") @NonNull LocalDateTime end);
+
+        /**
+         * Rows of {@code [doctorId, appointmentTime]} for every slot-holding appointment of the given doctors.
+         */
+        @NonNull
+        @Query("select a.doctor.id, a.appointmentTime from Appointment a "
+                + "where a.doctor.id in :doctorIds "
+                + "and a.appointmentTime >= :start and a.appointmentTime < :end "
+                + "and a.status <> com.ibm.smartclinic.backend.model.AppointmentStatus.CANCELLED")
+        List<Object[]> findOccupiedSlotTimesForDoctors(@Param("doctorIds") @NonNull Collection<Long> doctorIds,
+                                                       @Param("start") @NonNull LocalDateTime start,
+                                                       @Param("end") @NonNull LocalDateTime end);
+
+        /**
+         * Rows of {@code [doctorId, appointmentTime]} for slot-holding appointments matching any requested
+         * doctor and any requested time. A superset of the exact pairs; callers match pairs in memory.
+         */
+        @NonNull
+        @Query("select a.doctor.id, a.appointmentTime from Appointment a "
+                + "where a.doctor.id in :doctorIds and a.appointmentTime in :times "
+                + "and a.status <> com.ibm.smartclinic.backend.model.AppointmentStatus.CANCELLED")
+        List<Object[]> findOccupiedSlots(@Param("doctorIds") @NonNull Collection<Long> doctorIds,
+                                         @Param("times") @NonNull Collection<LocalDateTime> times);
+
+        /**
+         * Rows of {@code [id, doctorId, status, appointmentTime]} for the given appointments.
+         */
+        @NonNull
+        @Query("select a.id, a.doctor.id, a.status, a.appointmentTime from Appointment a where a.id in :ids")
+        List<Object[]> findTransitionRows(@Param("ids") @NonNull Collection<Long> ids);
+
+        /**
+         * Moves still-BOOKED appointments to {@code status}; returns how many rows changed.
+         */
+        @Modifying
+        @Query("update Appointment a set a.status = :status where a.id in :ids "
+                + "and a.status = com.ibm.smartclinic.backend.model.AppointmentStatus.BOOKED")
+        int updateBookedStatus(@Param("ids") @NonNull Collection<Long> ids,
+                               @Param("status") @NonNull AppointmentStatus status);
 }
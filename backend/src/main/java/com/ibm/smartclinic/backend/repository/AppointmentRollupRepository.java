@@ -0,0 +1,112 @@
+package com.ibm.smartclinic.backend.repository;
+
+import com.ibm.smartclinic.backend.dto.DailyReportDto;
+import io.micrometer.core.annotation.Timed;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Counters in {@code appointment_daily_rollup}, keyed by doctor and day. Increments are single
+ * upsert statements so they run in the caller's transaction without a read-modify-write cycle;
+ * MySQL's {@code ON DUPLICATE KEY UPDATE} is atomic, while H2's {@code MERGE} can lose the race to
+ * create a new row and is then simply repeated against the row that won.
+ */
+@Repository
+@Timed(value = "clinic.jdbc.repository.invocations", description = "JdbcTemplate repository calls")
+public class AppointmentRollupRepository {
+
+    private static final String MYSQL_UPSERT =
+            "INSERT INTO appointment_daily_rollup (doctor_id, report_date, booked, completed, cancelled) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "booked = booked + VALUES(booked), completed = completed + VALUES(completed), "
+            + "cancelled = cancelled + VALUES(cancelled)";
+
+    private static final String STANDARD_UPSERT =
+            "MERGE INTO appointment_daily_rollup r "
+            + "USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT))) "
+            + "s (doctor_id, report_date, booked, completed, cancelled) "
+            + "ON r.doctor_id = s.doctor_id AND r.report_date = s.report_date "
+            + "WHEN MATCHED THEN UPDATE SET booked = r.booked + s.booked, "
+            + "completed = r.completed + s.completed, cancelled = r.cancelled + s.cancelled "
+            + "WHEN NOT MATCHED THEN INSERT (doctor_id, report_date, booked, completed, cancelled) "
+            + "VALUES (s.doctor_id, s.report_date, s.booked, s.completed, s.cancelled)";
+
+    private static final String REPORT_COLUMNS =
+            "SELECT r.doctor_id, d.name, r.report_date, r.booked, r.completed, r.cancelled "
+            + "FROM appointment_daily_rollup r JOIN doctor d ON d.id = r.doctor_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+
+    public AppointmentRollupRepository(@NonNull JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        String product = JdbcUtils.extractDatabaseMetaData(
+                jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+        this.upsertSql = product.toLowerCase(Locale.ROOT).contains("mysql") ? MYSQL_UPSERT : STANDARD_UPSERT;
+    }
+
+    /**
+     * Adds the given deltas to the doctor's counters for {@code day}, creating the row if needed.
+     */
+    public void increment(long doctorId, @NonNull LocalDate day, int booked, int completed, int cancelled) {
+        Object[] args = {doctorId, Date.valueOf(day), booked, completed, cancelled};
+        try {
+            jdbcTemplate.update(upsertSql, args);
+        } catch (DuplicateKeyException ex) {
+            jdbcTemplate.update(upsertSql, args);
+        }
+    }
+
+    @NonNull
+    public List<DailyReportDto> findByDay(@NonNull LocalDate day) {
+        return jdbcTemplate.query(REPORT_COLUMNS + "WHERE r.report_date = ? ORDER BY r.doctor_id",
+                AppointmentRollupRepository::mapRow, Date.valueOf(day));
+    }
+
+    @NonNull
+    public List<DailyReportDto> findByDoctorBetween(long doctorId, @NonNull LocalDate from, @NonNull LocalDate to) {
+        return jdbcTemplate.query(REPORT_COLUMNS
+                        + "WHERE r.doctor_id = ? AND r.report_date BETWEEN ? AND ? ORDER BY r.report_date",
+                AppointmentRollupRepository::mapRow, doctorId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Recomputes the counters for {@code [from, to]} from the appointment table and returns the
+     * number of rollup rows written.
+     */
+    public int rebuild(@NonNull LocalDate from, @NonNull LocalDate to) {
+        jdbcTemplate.update("DELETE FROM appointment_daily_rollup WHERE report_date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(
+                "INSERT INTO appointment_daily_rollup (doctor_id, report_date, booked, completed, cancelled) "
+                + "SELECT doctor_id, CAST(appointment_time AS DATE), "
+                + "SUM(CASE WHEN status = 'COMPLETED' OR status = 'CANCELLED' THEN 0 ELSE 1 END), "
+                + "SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END), "
+                + "SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END) "
+                + "FROM appointment WHERE appointment_time >= ? AND appointment_time < ? "
+                + "GROUP BY doctor_id, CAST(appointment_time AS DATE)",
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    private static DailyReportDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new DailyReportDto(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getDate(3).toLocalDate(),
+                rs.getInt(4),
+                rs.getInt(5),
+                rs.getInt(6)
+        );
+    }
+}
@@ -1,9 +1,16 @@
 package com.ibm.smartclinic.backend.repository;
 
+import com.ibm.smartclinic.backend.dto.DoctorPublicDto;
+import com.ibm.smartclinic.backend.dto.DoctorResponseDto;
 import com.ibm.smartclinic.backend.model.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,9 +18,40 @@ import org.springframework.data.domain.Pageable;
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 	Optional<Doctor> findByEmail(@NonNull String email);
 
+	@Query("select d.id from Doctor d where d.email = :email")
+	Optional<Long> findIdByEmail(@Param("email") @NonNull String email);
+
 	@NonNull
 	Page<Doctor> findAll(@NonNull Pageable pageable);
 
 	@NonNull
 	Page<Doctor> findBySpecialityIgnoreCase(@NonNull String speciality, @NonNull Pageable pageable);
+
+	@NonNull
+	@Query("select t from Doctor d join d.availableTimes t where d.id = :doctorId")
+	List<LocalTime> findAvailableTimesByDoctorId(@Param("doctorId") @NonNull Long doctorId);
+
+	/**
+	 * Rows of {@code [doctorId, availableTime]}; doctors without configured times yield one row with a null time.
+	 */
+	@NonNull
+	@Query("select d.id, t from Doctor d left join d.availableTimes t where d.id in :doctorIds")
+	List<Object[]> findAvailableTimesByDoctorIds(@Param("doctorIds") @NonNull Collection<Long> doctorIds);
+
+	@NonNull
+	@Query("select new com.ibm.smartclinic.backend.dto.DoctorPublicDto(d.id, d.name, d.speciality) "
+			+ "from Doctor d where lower(d.speciality) = lower(:speciality) order by d.id")
+	List<DoctorPublicDto> findPublicBySpeciality(@Param("speciality") @NonNull String speciality);
+
+	/**
+	 * Keyset page of doctors with {@code id > afterId}; pass 0 for the first page.
+	 */
+	@NonNull
+	@Query("select new com.ibm.smartclinic.backend.dto.DoctorResponseDto(d.id, d.name, d.email, d.speciality) "
+			+ "from Doctor d where d.id > :afterId order by d.id")
+	List<DoctorResponseDto> findResponsePageAfter(@Param("afterId") long afterId, @NonNull Pageable limit);
+
+	@NonNull
+	@Query("select d.id from Doctor d where d.id in :ids")
+	List<Long> findExistingIds(@Param("ids") @NonNull Collection<Long> ids);
 }
@@ -0,0 +1,111 @@
+package com.ibm.smartclinic.backend.repository;
+
+import com.ibm.smartclinic.backend.event.EventType;
+import com.ibm.smartclinic.backend.event.OutboxEvent;
+import io.micrometer.core.annotation.Timed;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@code outbox_event} rows and the per-doctor counters in {@code outbox_partition}.
+ */
+@Repository
+@Timed(value = "clinic.jdbc.repository.invocations", description = "JdbcTemplate repository calls")
+public class OutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(@NonNull JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves {@code count} consecutive sequence numbers for the doctor and returns the first.
+     * The partition row stays locked until the caller's transaction ends.
+     */
+    public long reserveSequence(long doctorId, int count) {
+        if (jdbcTemplate.update("UPDATE outbox_partition SET last_sequence = last_sequence + ? WHERE doctor_id = ?",
+                count, doctorId) == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO outbox_partition (doctor_id, last_sequence) VALUES (?, ?)",
+                        doctorId, count);
+            } catch (DuplicateKeyException ex) {
+                jdbcTemplate.update("UPDATE outbox_partition SET last_sequence = last_sequence + ? WHERE doctor_id = ?",
+                        count, doctorId);
+            }
+        }
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT last_sequence FROM outbox_partition WHERE doctor_id = ?", Long.class, doctorId);
+        return last - count + 1;
+    }
+
+    /**
+     * Inserts rows of {@code [doctorId, doctorSequence, eventType, aggregateId, payload]} as one batch.
+     */
+    public void insertAll(@NonNull List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_event (doctor_id, doctor_sequence, event_type, aggregate_id, payload) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    @NonNull
+    public List<OutboxEvent> findUnpublished(int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, doctor_id, doctor_sequence, event_type, aggregate_id, payload, created_at "
+                + "FROM outbox_event WHERE published_at IS NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new OutboxEvent(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        EventType.valueOf(rs.getString(4)),
+                        rs.getLong(5),
+                        rs.getString(6),
+                        rs.getTimestamp(7).toLocalDateTime()),
+                limit);
+    }
+
+    /**
+     * Marks exactly the given events; rows with smaller ids that were not yet visible when the
+     * batch was read stay unpublished.
+     */
+    public int markPublished(@NonNull List<Long> ids, @NonNull LocalDateTime publishedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(Timestamp.valueOf(publishedAt));
+        args.addAll(ids);
+        return jdbcTemplate.update("UPDATE outbox_event SET published_at = ? WHERE id IN ("
+                + String.join(",", Collections.nCopies(ids.size(), "?")) + ")", args.toArray());
+    }
+
+    /**
+     * Takes the relay lease for {@code owner}, or renews it if {@code owner} already holds it, until
+     * {@code seconds} from now on the database clock. Returns false while another owner holds an
+     * unexpired lease.
+     */
+    public boolean acquireRelayLease(@NonNull String owner, int seconds) {
+        return jdbcTemplate.update("UPDATE outbox_relay_lease SET owner = ?, "
+                + "expires_at = TIMESTAMPADD(SECOND, ?, LOCALTIMESTAMP) "
+                + "WHERE id = 1 AND (owner IS NULL OR owner = ? OR expires_at < LOCALTIMESTAMP)",
+                owner, seconds, owner) == 1;
+    }
+
+    /**
+     * Gives up the relay lease if {@code owner} holds it.
+     */
+    public void releaseRelayLease(@NonNull String owner) {
+        jdbcTemplate.update("UPDATE outbox_relay_lease SET owner = NULL, expires_at = NULL WHERE id = 1 AND owner = ?",
+                owner);
+    }
+
+    public int deletePublishedBefore(@NonNull LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM outbox_event WHERE published_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
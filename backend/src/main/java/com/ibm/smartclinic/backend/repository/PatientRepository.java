@@ -1,15 +1,31 @@
 package com.ibm.smartclinic.backend.repository;
 
+import com.ibm.smartclinic.backend.dto.PatientResponseDto;
 import com.ibm.smartclinic.backend.model.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
+    /**
+     * Keyset page of patients with {@code id > afterId}; pass 0 for the first page.
+     */
+    @NonNull
+    @Query("select new com.ibm.smartclinic.backend.dto.PatientResponseDto(p.id, p.name, p.email, p.phone) "
+            + "from Patient p where p.id > :afterId order by p.id")
+    List<PatientResponseDto> findResponsePageAfter(@Param("afterId") long afterId, @NonNull Pageable limit);
+
     Optional<Patient> findByEmail(@NonNull String email);
 
+    @Query("select p.id from Patient p where p.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") @NonNull String email);
+
     Optional<Patient> findByEmailOrPhone(@NonNull String email, @Nullable String phone);
 }
@@ -0,0 +1,132 @@
+package com.ibm.smartclinic.backend.repository;
+
+import com.ibm.smartclinic.backend.dto.DoctorPatientCountDto;
+import io.micrometer.core.annotation.Timed;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Serialized daily distinct-patient sketches in {@code doctor_patient_sketch}. Sketches are
+ * merged in Java, so a write is read-modify-write: read the row with {@link #findForUpdate},
+ * then {@link #update} it in the same transaction.
+ */
+@Repository
+@Timed(value = "clinic.jdbc.repository.invocations", description = "JdbcTemplate repository calls")
+public class PatientSketchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PatientSketchRepository(@NonNull JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads and locks a sketch until the transaction ends. As a locking read it returns the latest
+     * committed registers even under MySQL's REPEATABLE READ, where a plain SELECT would answer
+     * from the snapshot fixed by the transaction's first read and lose concurrent merges.
+     */
+    @NonNull
+    public Optional<byte[]> findForUpdate(long doctorId, @NonNull LocalDate day) {
+        return jdbcTemplate.query(
+                "SELECT registers FROM doctor_patient_sketch WHERE doctor_id = ? AND report_date = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getBytes(1), doctorId, Date.valueOf(day)).stream().findFirst();
+    }
+
+    public void insert(long doctorId, @NonNull LocalDate day, @NonNull byte[] registers) {
+        jdbcTemplate.update("INSERT INTO doctor_patient_sketch (doctor_id, report_date, registers) VALUES (?, ?, ?)",
+                doctorId, Date.valueOf(day), registers);
+    }
+
+    public void update(long doctorId, @NonNull LocalDate day, @NonNull byte[] registers) {
+        jdbcTemplate.update("UPDATE doctor_patient_sketch SET registers = ? WHERE doctor_id = ? AND report_date = ?",
+                registers, doctorId, Date.valueOf(day));
+    }
+
+    /**
+     * Hands every sketch of {@code [from, to]} to {@code sink} as {@code (doctorId, registers)}
+     * while the rows are read, so a year of sketches is never held in memory at once.
+     */
+    public void forEachBetween(@NonNull LocalDate from, @NonNull LocalDate to,
+                               @NonNull BiConsumer<Long, byte[]> sink) {
+        jdbcTemplate.query(
+                "SELECT doctor_id, registers FROM doctor_patient_sketch WHERE report_date BETWEEN ? AND ?",
+                rs -> {
+                    sink.accept(rs.getLong(1), rs.getBytes(2));
+                },
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Distinct {@code (doctorId, day, patientId)} triples of {@code [from, to]}, for rebuilding.
+     */
+    public void forEachVisitBetween(@NonNull LocalDate from, @NonNull LocalDate to,
+                                    @NonNull VisitConsumer sink) {
+        jdbcTemplate.query(
+                "SELECT DISTINCT doctor_id, CAST(appointment_time AS DATE), patient_id FROM appointment "
+                + "WHERE appointment_time >= ? AND appointment_time < ?",
+                rs -> {
+                    sink.accept(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getLong(3));
+                },
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Inserts {@code registers} keyed by doctor id and then day as one JDBC batch.
+     */
+    public void insertAll(@NonNull Map<Long, Map<LocalDate, byte[]>> registers) {
+        List<Object[]> rows = new ArrayList<>();
+        registers.forEach((doctorId, days) -> days.forEach(
+                (day, bytes) -> rows.add(new Object[] {doctorId, Date.valueOf(day), bytes})));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO doctor_patient_sketch (doctor_id, report_date, registers) VALUES (?, ?, ?)", rows);
+    }
+
+    public int deleteBetween(@NonNull LocalDate from, @NonNull LocalDate to) {
+        return jdbcTemplate.update("DELETE FROM doctor_patient_sketch WHERE report_date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Exact distinct-patient counts straight from the appointment table, for audits.
+     */
+    @NonNull
+    public List<DoctorPatientCountDto> countExactBetween(@NonNull LocalDate from, @NonNull LocalDate to, int limit) {
+        return jdbcTemplate.query(
+                "SELECT a.doctor_id, d.name, COUNT(DISTINCT a.patient_id) AS patients "
+                + "FROM appointment a JOIN doctor d ON d.id = a.doctor_id "
+                + "WHERE a.appointment_time >= ? AND a.appointment_time < ? "
+                + "GROUP BY a.doctor_id, d.name ORDER BY patients DESC, a.doctor_id LIMIT ?",
+                (rs, rowNum) -> new DoctorPatientCountDto(rs.getLong(1), rs.getString(2), rs.getLong(3), true),
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(), limit);
+    }
+
+    @NonNull
+    public Map<Long, String> findDoctorNames(@NonNull Collection<Long> doctorIds) {
+        Map<Long, String> names = new HashMap<>();
+        if (!doctorIds.isEmpty()) {
+            jdbcTemplate.query("SELECT id, name FROM doctor WHERE id IN ("
+                            + String.join(",", Collections.nCopies(doctorIds.size(), "?")) + ")",
+                    rs -> {
+                        names.put(rs.getLong(1), rs.getString(2));
+                    },
+                    doctorIds.toArray());
+        }
+        return names;
+    }
+
+    @FunctionalInterface
+    public interface VisitConsumer {
+        void accept(long doctorId, LocalDate day, long patientId);
+    }
+}
@@ -1,15 +1,73 @@
 package com.ibm.smartclinic.backend.repository;
 
+import com.ibm.smartclinic.backend.dto.PrescriptionResponseDto;
 import com.ibm.smartclinic.backend.model.Prescription;
-import java.util.List;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
 
+    /**
+     * Read-model projections: rows come straight from one join into the DTO, without hydrating
+     * Prescription, Appointment, Doctor or Patient entities.
+     */
+    String RESPONSE_PROJECTION = "select new com.ibm.smartclinic.backend.dto.PrescriptionResponseDto(p.id, p.notes, a.id) "
+            + "from Prescription p join p.appointment a ";
+
+    String DETAILED_PROJECTION = "select new com.ibm.smartclinic.backend.dto.PrescriptionResponseDto("
+            + "p.id, p.notes, a.id, d.name, a.appointmentTime) "
+            + "from Prescription p join p.appointment a join a.doctor d ";
+
+    @NonNull
+    @Query(RESPONSE_PROJECTION + "where a.doctor.id = :doctorId order by p.id desc")
+    Slice<PrescriptionResponseDto> findResponsesByDoctorId(@Param("doctorId") @NonNull Long doctorId,
+                                                           @NonNull Pageable pageable);
+
+    @NonNull
+    @Query(RESPONSE_PROJECTION + "where a.patient.id = :patientId order by p.id desc")
+    Slice<PrescriptionResponseDto> findResponsesByPatientId(@Param("patientId") @NonNull Long patientId,
+                                                            @NonNull Pageable pageable);
+
+    /**
+     * Same rows as {@link #findResponsesByPatientId} plus the prescribing doctor's name and the appointment time.
+     */
+    @NonNull
+    @Query(DETAILED_PROJECTION + "where a.patient.id = :patientId order by p.id desc")
+    Slice<PrescriptionResponseDto> findDetailedResponsesByPatientId(@Param("patientId") @NonNull Long patientId,
+                                                                    @NonNull Pageable pageable);
+
+    /**
+     * Full history as a forward-only cursor of DTOs, so nothing accumulates in the persistence context.
+     */
+    @NonNull
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppointmentRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "where a.doctor.id = :doctorId order by p.id desc")
+    Stream<PrescriptionResponseDto> streamByDoctorId(@Param("doctorId") @NonNull Long doctorId);
+
     @NonNull
-    List<Prescription> findByAppointmentDoctorId(@NonNull Long doctorId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppointmentRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "where a.patient.id = :patientId order by p.id desc")
+    Stream<PrescriptionResponseDto> streamByPatientId(@Param("patientId") @NonNull Long patientId);
 
     @NonNull
-    List<Prescription> findByAppointmentPatientId(@NonNull Long patientId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppointmentRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DETAILED_PROJECTION + "where a.patient.id = :patientId order by p.id desc")
+    Stream<PrescriptionResponseDto> streamDetailedByPatientId(@Param("patientId") @NonNull Long patientId);
 }
@@ -0,0 +1,24 @@
+package com.ibm.smartclinic.backend.security;
+
+import java.security.Principal;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Principal installed by {@link JwtAuthenticationFilter}. Tokens issued before the id claims were
+ * introduced carry only the email and role, in which case both ids are {@code null}.
+ */
+public record AuthenticatedUser(@NonNull String email,
+                                @NonNull String role,
+                                @Nullable Long identityId,
+                                @Nullable Long entityId) implements Principal {
+
+    public static AuthenticatedUser ofEmail(@NonNull String email, @NonNull String role) {
+        return new AuthenticatedUser(email, role, null, null);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -40,11 +40,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             try {
                 Claims claims = tokenService.parseClaims(token);
                 String email = claims.getSubject();
-                String role = claims.get("role", String.class);
+                String role = claims.get(TokenService.ROLE_CLAIM, String.class);
                 if (email != null && role != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    AuthenticatedUser principal = new AuthenticatedUser(email, role,
+                            claims.get(TokenService.IDENTITY_ID_CLAIM, Long.class),
+                            claims.get(TokenService.ENTITY_ID_CLAIM, Long.class));
                     SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
                     UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(email, null, java.util.List.of(authority));
+                            new UsernamePasswordAuthenticationToken(principal, null, java.util.List.of(authority));
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
@@ -0,0 +1,121 @@
+package com.ibm.smartclinic.backend.security;
+
+import com.ibm.smartclinic.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs BCrypt hashing and verification on a CPU-sized pool with a short queue. At most
+ * {@code threads + queue-capacity} request threads can be waiting on BCrypt at any time; any
+ * further request is rejected immediately with {@link ServiceOverloadedException} instead of
+ * tying up another Tomcat worker, so cheap requests keep flowing during a login burst.
+ * BCrypt is CPU-bound, so this pool stays on platform threads in the virtual-threads profile.
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(@NonNull PasswordEncoder passwordEncoder,
+                                  @NonNull MeterRegistry meterRegistry,
+                                  @Value("${auth.hashing.threads:0}") int threads,
+                                  @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${auth.hashing.max-wait:5s}") Duration maxWait,
+                                  @Value("${auth.hashing.retry-after:2s}") Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.hashing.wait")
+                .description("Time a password hashing task spent queued")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.hashing.duration")
+                .description("Time spent in BCrypt")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.hashing.rejected")
+                .description("Password hashing tasks refused because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @NonNull
+    public String encode(@NonNull String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(@NonNull String rawPassword, @NonNull String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T submit(Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw overloaded();
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Too many concurrent sign-ins, please retry shortly", retryAfter);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ibm.smartclinic.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.DoctorRepository;
+import com.ibm.smartclinic.backend.repository.PatientRepository;
+import com.ibm.smartclinic.backend.repository.UserIdentityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maps an authenticated email to its identity and doctor/patient id without a query per request.
+ * Entries expire after a TTL and are evicted by {@code IdentityService} whenever an identity changes.
+ * Hit/miss counts are published as the {@code principals} cache metrics.
+ */
+@Component
+public class PrincipalCache {
+
+    public record CachedPrincipal(Long identityId, Long entityId, UserRole role, boolean active) {}
+
+    private final UserIdentityRepository userIdentityRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final Cache<String, CachedPrincipal> cache;
+
+    public PrincipalCache(@NonNull UserIdentityRepository userIdentityRepository,
+                          @NonNull DoctorRepository doctorRepository,
+                          @NonNull PatientRepository patientRepository,
+                          @NonNull MeterRegistry meterRegistry,
+                          @Value("${identity.cache.ttl:10m}") Duration ttl,
+                          @Value("${identity.cache.max-size:10000}") long maxSize) {
+        this.userIdentityRepository = userIdentityRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Resolves an active principal of the expected role, loading and caching it on a miss.
+     */
+    @NonNull
+    public CachedPrincipal resolve(@NonNull String email, @NonNull UserRole expectedRole) {
+        CachedPrincipal principal = cache.get(normalize(email), this::load);
+        if (principal.role() != expectedRole) {
+            throw new AccessDeniedException("Email is registered as " + principal.role());
+        }
+        if (!principal.active()) {
+            throw new AccessDeniedException("Account is inactive");
+        }
+        return principal;
+    }
+
+    /**
+     * Doctor/patient id of the authenticated user. The identity is still checked through
+     * {@link #resolve(String, UserRole)}, so a deactivated account is refused even while its token
+     * is valid; tokens that carry the id only save the lookup of the id itself.
+     */
+    @NonNull
+    public Long resolveEntityId(@NonNull AuthenticatedUser user, @NonNull UserRole expectedRole) {
+        if (user.entityId() != null && !expectedRole.name().equals(user.role())) {
+            throw new AccessDeniedException("Token was issued for role " + user.role());
+        }
+        CachedPrincipal principal = resolve(user.email(), expectedRole);
+        return user.entityId() != null ? user.entityId() : principal.entityId();
+    }
+
+    /**
+     * Drops the entry now and again after the current transaction commits, so a concurrent
+     * request cannot re-cache the pre-commit state.
+     */
+    public void evict(@NonNull String email) {
+        String key = normalize(email);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private CachedPrincipal load(String email) {
+        UserIdentity identity = userIdentityRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        Long entityId = switch (identity.getRole()) {
+            case DOCTOR -> doctorRepository.findIdByEmail(email)
+                    .orElseThrow(() -> new ResourceNotFoundException("Doctor", "email", email));
+            case PATIENT -> patientRepository.findIdByEmail(email)
+                    .orElseThrow(() -> new ResourceNotFoundException("Patient", "email", email));
+        };
+        return new CachedPrincipal(identity.getId(), entityId, identity.getRole(), identity.isActive());
+    }
+
+    private String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,8 +1,11 @@
 package com.ibm.smartclinic.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -12,6 +15,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableMethodSecurity
@@ -20,13 +24,20 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private Environment environment;
+
+    // Absent when run without a web server, e.g. the datagen profile
     @Bean
+    @ConditionalOnWebApplication
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .cors(Customizer.withDefaults())
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streamed responses finish on an async dispatch; the request was authorized on the way in
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers(
                     "/api/doctor/login",
@@ -36,12 +47,19 @@ public class SecurityConfig {
                     "/api/doctor/register",
                     "/api/patient/register"
                 ).permitAll()
+                // Actuator is served on management.server.port, which is kept off the public ingress;
+                // probes and the Prometheus scraper reach it directly and carry no JWT
+                .requestMatchers(onManagementPort()).permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").denyAll()
                 .requestMatchers(HttpMethod.GET, "/api/doctors", "/api/doctors/**").hasAnyRole("PATIENT", "DOCTOR")
                 .requestMatchers("/api/doctors/**").hasRole("DOCTOR")
                 .requestMatchers("/api/patient/**").hasRole("PATIENT")
                 .requestMatchers(HttpMethod.POST, "/api/appointments/*/complete").hasRole("DOCTOR")
                 .requestMatchers(HttpMethod.POST, "/api/appointments/*/cancel").hasRole("DOCTOR")
+                .requestMatchers(HttpMethod.POST, "/api/appointments/batch/status").hasRole("DOCTOR")
                 .requestMatchers(HttpMethod.GET, "/api/appointments/doctor/**").hasRole("DOCTOR")
+                .requestMatchers("/api/reports/**").hasRole("DOCTOR")
                 .requestMatchers("/api/appointments/**").hasRole("PATIENT")
                 .requestMatchers(HttpMethod.POST, "/api/prescriptions/**").hasRole("DOCTOR")
                 .requestMatchers(HttpMethod.GET, "/api/prescriptions/doctor/**").hasRole("DOCTOR")
@@ -53,6 +71,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Matches requests that arrived on the management server's port. The port is read per request
+     * because it is only published once that server has started (and is random when configured as 0).
+     */
+    private RequestMatcher onManagementPort() {
+        return request -> String.valueOf(request.getLocalPort())
+                .equals(environment.getProperty("local.management.port"));
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -1,16 +1,27 @@
 package com.ibm.smartclinic.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,23 +29,57 @@ public class TokenService {
 
     private final Key signingKey;
     private final long expirationMs;
+    private final JwtParser parser;
+    /**
+     * Verified claims keyed by the SHA-256 digest of the compact token; {@code null} when
+     * disabled. Each entry expires at the token's {@code exp}, so an expired token is never
+     * served from here and falls through to the parser, which rejects it.
+     */
+    @Nullable
+    private final Cache<String, Claims> claimsCache;
 
     public TokenService(@Value("${jwt.secret}") String secret,
-                        @Value("${jwt.expiration-ms}") long expirationMs) {
+                        @Value("${jwt.expiration-ms}") long expirationMs,
+                        @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheSize,
+                        @Nullable MeterRegistry meterRegistry) {
         this.signingKey = Keys.hmacShaKeyFor(deriveKeyBytes(secret));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.claimsCache = claimsCacheSize > 0 ? buildClaimsCache(claimsCacheSize) : null;
+        if (claimsCache != null && meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt-claims");
+        }
     }
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String IDENTITY_ID_CLAIM = "uid";
+    public static final String ENTITY_ID_CLAIM = "eid";
+
     public String generateToken(String email, String role) {
+        return generateToken(email, role, null, null);
+    }
+
+    /**
+     * Signs the email subject and role together with the {@code user_identity} id and the
+     * doctor/patient id, so authenticated requests need no lookup to find either.
+     */
+    public String generateToken(String email, String role, Long identityId, Long entityId) {
         Date now = new Date();
         Date expiration = new Date(now.getTime() + expirationMs);
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(email)
                 .setIssuedAt(now)
                 .setExpiration(expiration)
-                .claim("role", role)
-                .signWith(signingKey)
-                .compact();
+                .claim(ROLE_CLAIM, role);
+        if (identityId != null) {
+            builder.claim(IDENTITY_ID_CLAIM, identityId);
+        }
+        if (entityId != null) {
+            builder.claim(ENTITY_ID_CLAIM, entityId);
+        }
+        return builder.signWith(signingKey).compact();
     }
 
     public boolean validateToken(String token) {
@@ -47,15 +92,57 @@ public class TokenService {
     }
 
     public String getRole(String token) {
-        return parseClaims(token).get("role", String.class);
+        return parseClaims(token).get(ROLE_CLAIM, String.class);
     }
 
+    @Timed(value = "clinic.auth.token.parse", description = "JWT verification per request, cached or not")
     public Claims parseClaims(String token) throws ExpiredJwtException, JwtException {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (claimsCache == null) {
+            return verify(token);
+        }
+        // Failed verifications throw out of the loader and are therefore never cached
+        return claimsCache.get(digest(token), key -> verify(token));
+    }
+
+    private Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static Cache<String, Claims> buildClaimsCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        if (expiration == null) {
+                            return 0;
+                        }
+                        long remainingMs = expiration.getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
     }
 
     private byte[] deriveKeyBytes(String secret) {
@@ -1,44 +1,112 @@
 package com.ibm.smartclinic.backend.service;
 
+import com.ibm.smartclinic.backend.dto.AppointmentRequestDto;
+import com.ibm.smartclinic.backend.dto.AppointmentResponseDto;
+import com.ibm.smartclinic.backend.dto.AppointmentTransitionDto;
+import com.ibm.smartclinic.backend.dto.BatchItemResultDto;
+import com.ibm.smartclinic.backend.dto.BatchResultDto;
+import com.ibm.smartclinic.backend.dto.CursorPage;
+import com.ibm.smartclinic.backend.event.OutboxWriter;
 import com.ibm.smartclinic.backend.exception.ConflictException;
 import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
 import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.logging.ExpectedSqlErrorFilter;
 import com.ibm.smartclinic.backend.model.Appointment;
 import com.ibm.smartclinic.backend.model.AppointmentStatus;
 import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
 import com.ibm.smartclinic.backend.repository.AppointmentRepository;
 import com.ibm.smartclinic.backend.repository.DoctorRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 @Service
 @Transactional
 public class AppointmentService {
 
+    private static final String SLOT_CONSTRAINT = "uq_appointment_doctor_slot";
+
     private final AppointmentRepository appointmentRepository;
+    private final AvailabilityService availabilityService;
     private final DoctorRepository doctorRepository;
+    private final ReportService reportService;
+    private final OutboxWriter outboxWriter;
+    private final EntityManager entityManager;
+    private final int maxBatchItems;
 
     public AppointmentService(@NonNull AppointmentRepository appointmentRepository,
-                              @NonNull DoctorRepository doctorRepository) {
+                              @NonNull AvailabilityService availabilityService,
+                              @NonNull DoctorRepository doctorRepository,
+                              @NonNull ReportService reportService,
+                              @NonNull OutboxWriter outboxWriter,
+                              @NonNull EntityManager entityManager,
+                              @Value("${appointments.batch.max-items:100}") int maxBatchItems) {
         this.appointmentRepository = appointmentRepository;
+        this.availabilityService = availabilityService;
         this.doctorRepository = doctorRepository;
+        this.reportService = reportService;
+        this.outboxWriter = outboxWriter;
+        this.entityManager = entityManager;
+        this.maxBatchItems = maxBatchItems;
     }
 
     /**
      * Spring Framework 6 guarantees non-null at runtime; warning is a known static-analysis limitation.
      */
     @NonNull
-    public Page<Appointment> getAppointmentsByPatientId(@NonNull Long patientId, @NonNull Pageable pageable) {
-        return appointmentRepository.findByPatientId(patientId, pageable);
+    public Page<AppointmentResponseDto> getAppointmentsByPatientId(@NonNull Long patientId, @NonNull Pageable pageable) {
+        return appointmentRepository.findResponsesByPatientId(patientId, pageable);
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getAppointmentsByPatientId}, ordered by appointment time.
+     * The total is only counted when {@code withTotal} is set.
+     */
+    @NonNull
+    public CursorPage<AppointmentResponseDto> scrollAppointmentsByPatientId(@NonNull Long patientId,
+                                                                           @Nullable String cursor,
+                                                                           @Nullable Integer size,
+                                                                           boolean withTotal) {
+        Pageable limit = KeysetCursor.fetchLimit(size);
+        List<AppointmentResponseDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = appointmentRepository.findResponsePageByPatientId(patientId, limit);
+        } else {
+            KeysetCursor.TimeAndId after = KeysetCursor.timeAndIdOf(cursor);
+            rows = appointmentRepository.findResponsePageByPatientIdAfter(patientId, after.time(), after.id(), limit);
+        }
+        Long total = withTotal ? appointmentRepository.countByPatientId(patientId) : null;
+        return CursorPage.of(rows, limit.getPageSize() - 1,
+                row -> KeysetCursor.ofTimeAndId(row.getAppointmentTime(), row.getId()), total);
     }
 
     @NonNull
+    @Timed(value = "clinic.appointments.book", description = "Single appointment booking")
     public Appointment bookAppointment(@NonNull Appointment appointment) {
         // Validate input
         if (appointment.getDoctor() == null || appointment.getAppointmentTime() == null) {
@@ -48,54 +116,244 @@ public class AppointmentService {
             throw new ValidationException("Patient context is required to book an appointment", "patientId");
         }
 
-        // Conflict detection: prevent double-booking same doctor at same time
-        boolean conflict = appointmentRepository.findByDoctorAndAppointmentTime(
-                appointment.getDoctor(), appointment.getAppointmentTime()
-        ).isPresent();
-        if (conflict) {
-            throw new ConflictException(
-                    "Doctor is already booked at this time",
-                    "DOUBLE_BOOKING"
-            );
+        appointment.setStatus(AppointmentStatus.BOOKED);
+        Appointment booked = reserveSlot(appointment);
+        reportService.onBooked(List.of(booked));
+        outboxWriter.appointmentsBooked(List.of(booked));
+        availabilityService.onAppointmentChanged(booked);
+        return booked;
+    }
+
+    /**
+     * Books several slots for one patient in a single transaction. Unknown doctors and taken slots
+     * (including duplicates within the batch) are found with one query each and reported per item;
+     * the remaining bookings are inserted as one JDBC batch. A slot taken concurrently between the
+     * check and the insert rejects the whole batch with DOUBLE_BOOKING.
+     */
+    @NonNull
+    public BatchResultDto bookAppointments(@NonNull Patient patient, @NonNull List<AppointmentRequestDto> items) {
+        requireBatchSize(items.size());
+        Set<Long> doctorIds = items.stream().map(AppointmentRequestDto::getDoctorId).collect(Collectors.toSet());
+        Set<LocalDateTime> times = items.stream().map(AppointmentRequestDto::getAppointmentTime).collect(Collectors.toSet());
+        Set<Long> knownDoctors = new HashSet<>(doctorRepository.findExistingIds(doctorIds));
+        Set<List<Object>> takenSlots = new HashSet<>();
+        for (Object[] row : appointmentRepository.findOccupiedSlots(doctorIds, times)) {
+            takenSlots.add(List.of(row[0], row[1]));
         }
 
-        appointment.setStatus(AppointmentStatus.BOOKED);
-        return appointmentRepository.save(appointment);
+        BatchItemResultDto[] results = new BatchItemResultDto[items.size()];
+        List<Appointment> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            AppointmentRequestDto item = items.get(i);
+            if (!knownDoctors.contains(item.getDoctorId())) {
+                results[i] = BatchItemResultDto.failure(i, null, "DOCTOR_NOT_FOUND",
+                        "Doctor not found with id : '" + item.getDoctorId() + "'");
+            } else if (!takenSlots.add(List.of(item.getDoctorId(), item.getAppointmentTime()))) {
+                results[i] = BatchItemResultDto.failure(i, null, "DOUBLE_BOOKING", "Doctor is already booked at this time");
+            } else {
+                Appointment appointment = new Appointment();
+                appointment.setDoctor(entityManager.getReference(Doctor.class, item.getDoctorId()));
+                appointment.setPatient(patient);
+                appointment.setAppointmentTime(item.getAppointmentTime());
+                appointment.setStatus(AppointmentStatus.BOOKED);
+                accepted.add(appointment);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            insertBatch(accepted);
+            reportService.onBooked(accepted);
+            outboxWriter.appointmentsBooked(accepted);
+            for (int j = 0; j < accepted.size(); j++) {
+                Appointment booked = accepted.get(j);
+                results[acceptedIndexes.get(j)] = BatchItemResultDto.success(
+                        acceptedIndexes.get(j), booked.getId(), booked.getStatus().name());
+                availabilityService.onAppointmentChanged(booked);
+            }
+        }
+        return new BatchResultDto(List.of(results));
+    }
+
+    /**
+     * Completes or cancels several of the doctor's appointments in a single transaction. Current
+     * state is read with one query, each item is checked like a single transition, and the accepted
+     * ones are applied with one set-based update per target status.
+     */
+    @NonNull
+    public BatchResultDto transitionAppointments(@NonNull Doctor doctor, @NonNull List<AppointmentTransitionDto> items) {
+        requireBatchSize(items.size());
+        Map<Long, Object[]> current = new HashMap<>();
+        for (Object[] row : appointmentRepository.findTransitionRows(
+                items.stream().map(AppointmentTransitionDto::getAppointmentId).collect(Collectors.toSet()))) {
+            current.put((Long) row[0], row);
+        }
+
+        BatchItemResultDto[] results = new BatchItemResultDto[items.size()];
+        Map<AppointmentStatus, List<Long>> idsByStatus = new EnumMap<>(AppointmentStatus.class);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            Long id = items.get(i).getAppointmentId();
+            AppointmentStatus target = items.get(i).getStatus();
+            Object[] row = current.get(id);
+            if (target == AppointmentStatus.BOOKED) {
+                results[i] = BatchItemResultDto.failure(i, id, "VALIDATION_FAILED", "Target status must be COMPLETED or CANCELLED");
+            } else if (row == null) {
+                results[i] = BatchItemResultDto.failure(i, id, "NOT_FOUND", "Appointment not found with id : '" + id + "'");
+            } else if (!doctor.getId().equals(row[1])) {
+                results[i] = BatchItemResultDto.failure(i, id, "VALIDATION_FAILED", "Doctor cannot modify appointments they do not own");
+            } else if (!seen.add(id)) {
+                results[i] = BatchItemResultDto.failure(i, id, "DUPLICATE_ITEM", "Appointment appears more than once in this batch");
+            } else if (row[2] != AppointmentStatus.BOOKED) {
+                results[i] = BatchItemResultDto.failure(i, id, "VALIDATION_FAILED", "Only booked appointments can be updated");
+            } else {
+                idsByStatus.computeIfAbsent(target, status -> new ArrayList<>()).add(id);
+                results[i] = BatchItemResultDto.success(i, id, target.name());
+            }
+        }
+
+        idsByStatus.forEach((status, ids) -> {
+            if (appointmentRepository.updateBookedStatus(ids, status) != ids.size()) {
+                throw new ConflictException("Appointments were modified concurrently; no transitions were applied",
+                        "CONCURRENT_UPDATE");
+            }
+            List<Object[]> changed = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Object[] row = current.get(id);
+                reportService.onStatusChanged((Long) row[1], (LocalDateTime) row[3], status);
+                availabilityService.onSlotChanged((Long) row[1], (LocalDateTime) row[3], status != AppointmentStatus.CANCELLED);
+                changed.add(new Object[] {id, row[1], row[3]});
+            }
+            outboxWriter.appointmentStatusChanged(changed, status);
+        });
+        return new BatchResultDto(List.of(results));
     }
 
     @NonNull
     public List<Appointment> getAppointmentsForDoctorOnDate(@NonNull Long doctorId, @NonNull LocalDate date) {
-        // Real implementation would query by doctor and date
-        Doctor doctor = doctorRepository.findById(doctorId).orElse(null);
-        if (doctor == null) return List.of();
-        return appointmentRepository.findAll().stream()
-                .filter(a -> a.getDoctor().getId().equals(doctorId)
-                        && a.getAppointmentTime().toLocalDate().equals(date))
-                .toList();
+        // Unknown doctors simply yield an empty range, so no separate existence check is needed
+        return appointmentRepository.findByDoctorIdAndTimeRange(
+                doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
     }
 
+    /**
+     * One page of the doctor's history, newest first. Client sort parameters are ignored so pages
+     * stay consistent with the streamed order.
+     */
     @NonNull
-    public List<Appointment> getAppointmentsForDoctor(@NonNull Long doctorId) {
-        return appointmentRepository.findByDoctorIdOrderByAppointmentTimeDesc(doctorId);
+    @Transactional(readOnly = true)
+    public Slice<AppointmentResponseDto> getAppointmentsForDoctor(@NonNull Long doctorId, @NonNull Pageable pageable) {
+        return appointmentRepository.findHistoryByDoctorId(doctorId, unsorted(pageable));
     }
 
     @NonNull
-    public List<Appointment> getAppointmentsForPatient(@NonNull Long patientId) {
-        return appointmentRepository.findByPatientIdOrderByAppointmentTimeDesc(patientId);
+    @Transactional(readOnly = true)
+    public Slice<AppointmentResponseDto> getAppointmentsForPatient(@NonNull Long patientId, @NonNull Pageable pageable) {
+        return appointmentRepository.findHistoryByPatientId(patientId, unsorted(pageable));
+    }
+
+    /**
+     * Hands the doctor's full history to {@code sink} row by row from a database cursor.
+     */
+    @Transactional(readOnly = true)
+    public void streamAppointmentsForDoctor(@NonNull Long doctorId, @NonNull Consumer<? super AppointmentResponseDto> sink) {
+        try (Stream<AppointmentResponseDto> rows = appointmentRepository.streamHistoryByDoctorId(doctorId)) {
+            rows.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAppointmentsForPatient(@NonNull Long patientId, @NonNull Consumer<? super AppointmentResponseDto> sink) {
+        try (Stream<AppointmentResponseDto> rows = appointmentRepository.streamHistoryByPatientId(patientId)) {
+            rows.forEach(sink);
+        }
+    }
+
+    private Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
     }
 
     @NonNull
     public Appointment completeAppointment(@NonNull Long appointmentId, @NonNull Doctor doctor) {
         Appointment appointment = requireDoctorOwnedBookedAppointment(appointmentId, doctor);
         appointment.setStatus(AppointmentStatus.COMPLETED);
-        return appointmentRepository.save(appointment);
+        Appointment updated = appointmentRepository.save(appointment);
+        reportService.onStatusChanged(updated.getDoctor().getId(), updated.getAppointmentTime(), AppointmentStatus.COMPLETED);
+        outboxWriter.appointmentStatusChanged(updated.getId(), updated.getDoctor().getId(),
+                updated.getAppointmentTime(), AppointmentStatus.COMPLETED);
+        availabilityService.onAppointmentChanged(updated);
+        return updated;
     }
 
     @NonNull
     public Appointment cancelAppointment(@NonNull Long appointmentId, @NonNull Doctor doctor) {
         Appointment appointment = requireDoctorOwnedBookedAppointment(appointmentId, doctor);
         appointment.setStatus(AppointmentStatus.CANCELLED);
-        return appointmentRepository.save(appointment);
+        Appointment updated = appointmentRepository.save(appointment);
+        reportService.onStatusChanged(updated.getDoctor().getId(), updated.getAppointmentTime(), AppointmentStatus.CANCELLED);
+        outboxWriter.appointmentStatusChanged(updated.getId(), updated.getDoctor().getId(),
+                updated.getAppointmentTime(), AppointmentStatus.CANCELLED);
+        availabilityService.onAppointmentChanged(updated);
+        return updated;
+    }
+
+    /**
+     * Single-insert reservation: uq_appointment_doctor_slot rejects a second live booking for the
+     * same doctor and time, so concurrent requests cannot both pass a separate existence check. The
+     * violation is the normal 409 path, so Hibernate's JDBC error logging is suppressed for it.
+     */
+    @NonNull
+    private Appointment reserveSlot(@NonNull Appointment appointment) {
+        try {
+            return ExpectedSqlErrorFilter.expectingConstraintViolation(() -> appointmentRepository.saveAndFlush(appointment));
+        } catch (DataIntegrityViolationException ex) {
+            if (isSlotConflict(ex)) {
+                throw new ConflictException(
+                        "Doctor is already booked at this time",
+                        "DOUBLE_BOOKING"
+                );
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Persists new appointments with the session's JDBC batch size raised to the batch length, so
+     * the pooled sequence hands out ids locally and the INSERTs go out as one batch.
+     */
+    private void insertBatch(List<Appointment> appointments) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(appointments.size());
+        try {
+            ExpectedSqlErrorFilter.expectingConstraintViolation(() -> {
+                appointmentRepository.saveAll(appointments);
+                appointmentRepository.flush();
+                return null;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (isSlotConflict(ex)) {
+                throw new ConflictException(
+                        "A requested slot was booked concurrently; no appointments in this batch were booked",
+                        "DOUBLE_BOOKING"
+                );
+            }
+            throw ex;
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+
+    private void requireBatchSize(int size) {
+        if (size > maxBatchItems) {
+            throw new ValidationException("A batch must not contain more than " + maxBatchItems + " items", "items");
+        }
+    }
+
+    private boolean isSlotConflict(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(SLOT_CONSTRAINT);
     }
 
     @NonNull
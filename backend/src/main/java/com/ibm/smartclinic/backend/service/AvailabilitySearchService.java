@@ -0,0 +1,117 @@
+package com.ibm.smartclinic.backend.service;
+
+import com.ibm.smartclinic.backend.dto.DoctorAvailabilityDto;
+import com.ibm.smartclinic.backend.dto.DoctorPublicDto;
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.repository.DoctorRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds the earliest free slots across every doctor of a speciality. The cache is warmed for all
+ * matching doctors with two bulk queries, then each doctor is evaluated on the bounded
+ * availability executor.
+ */
+@Service
+public class AvailabilitySearchService {
+
+    static final int MAX_RANGE_DAYS = 31;
+    static final int MAX_SLOTS_PER_DOCTOR = 20;
+
+    private final DoctorRepository doctorRepository;
+    private final AvailabilityService availabilityService;
+    private final TaskExecutor executor;
+
+    public AvailabilitySearchService(@NonNull DoctorRepository doctorRepository,
+                                     @NonNull AvailabilityService availabilityService,
+                                     @NonNull @Qualifier("availabilitySearchExecutor") TaskExecutor executor) {
+        this.doctorRepository = doctorRepository;
+        this.availabilityService = availabilityService;
+        this.executor = executor;
+    }
+
+    /**
+     * Doctors with at least one free slot, ordered by their earliest slot.
+     */
+    @NonNull
+    public List<DoctorAvailabilityDto> search(@NonNull String speciality,
+                                              @NonNull LocalDate from,
+                                              @NonNull LocalDate to,
+                                              @Nullable LocalTime windowStart,
+                                              @Nullable LocalTime windowEnd,
+                                              int slotsPerDoctor) {
+        return evaluate(speciality, from, to, windowStart, windowEnd, slotsPerDoctor).stream()
+                .map(CompletableFuture::join)
+                .filter(result -> !result.getSlots().isEmpty())
+                .sorted(Comparator.comparing(result -> result.getSlots().get(0)))
+                .toList();
+    }
+
+    /**
+     * Same search, but each doctor with free slots is handed to {@code sink} as soon as it has been
+     * evaluated. The returned future completes once every doctor has been delivered.
+     */
+    @NonNull
+    public CompletableFuture<Void> stream(@NonNull String speciality,
+                                          @NonNull LocalDate from,
+                                          @NonNull LocalDate to,
+                                          @Nullable LocalTime windowStart,
+                                          @Nullable LocalTime windowEnd,
+                                          int slotsPerDoctor,
+                                          @NonNull Consumer<DoctorAvailabilityDto> sink) {
+        return CompletableFuture.allOf(evaluate(speciality, from, to, windowStart, windowEnd, slotsPerDoctor).stream()
+                .map(future -> future.thenAccept(result -> {
+                    if (!result.getSlots().isEmpty()) {
+                        sink.accept(result);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private List<CompletableFuture<DoctorAvailabilityDto>> evaluate(String speciality,
+                                                                    LocalDate from,
+                                                                    LocalDate to,
+                                                                    LocalTime windowStart,
+                                                                    LocalTime windowEnd,
+                                                                    int slotsPerDoctor) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("End date must not be before start date", "to");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to.plusDays(1))) {
+            throw new ValidationException("Search range must not exceed " + MAX_RANGE_DAYS + " days", "to");
+        }
+        if (slotsPerDoctor < 1 || slotsPerDoctor > MAX_SLOTS_PER_DOCTOR) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_SLOTS_PER_DOCTOR, "limit");
+        }
+        LocalTime start = windowStart != null ? windowStart : LocalTime.MIN;
+        LocalTime end = windowEnd != null ? windowEnd : LocalTime.MIDNIGHT;
+        if (!end.equals(LocalTime.MIDNIGHT) && !start.isBefore(end)) {
+            throw new ValidationException("Start time must be before end time", "startTime");
+        }
+
+        LocalDate endExclusive = to.plusDays(1);
+        List<DoctorPublicDto> doctors = doctorRepository.findPublicBySpeciality(speciality);
+        availabilityService.preload(doctors.stream().map(DoctorPublicDto::getId).toList(), from, endExclusive);
+
+        LocalDateTime now = LocalDateTime.now();
+        return doctors.stream()
+                .map(doctor -> CompletableFuture.supplyAsync(() -> new DoctorAvailabilityDto(
+                        doctor.getId(),
+                        doctor.getName(),
+                        doctor.getSpeciality(),
+                        availabilityService.findEarliestSlots(
+                                doctor.getId(), from, endExclusive, start, end, now, slotsPerDoctor)
+                ), executor))
+                .toList();
+    }
+}
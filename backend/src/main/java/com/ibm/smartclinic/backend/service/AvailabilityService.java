@@ -0,0 +1,390 @@
+package com.ibm.smartclinic.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.repository.AppointmentRepository;
+import com.ibm.smartclinic.backend.repository.DoctorRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory availability engine.
+ * Each doctor gets a 96-bit quarter-hour mask of working slots (from {@code Doctor.availableTimes})
+ * and, per loaded day, a mask of occupied slots. Free slots are {@code working & ~occupied}.
+ * Days are loaded from the database once and then kept current by appointment changes,
+ * so repeated lookups never touch the database. Calendars are bounded by count and age
+ * ({@code availability.cache.*}) and each keeps at most {@code max-days} days, least recently used first out.
+ */
+@Service
+public class AvailabilityService {
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    /** Used for doctors that have not configured any available times. */
+    private static final List<LocalTime> DEFAULT_WORKING_TIMES = List.of(
+            LocalTime.of(10, 0),
+            LocalTime.of(11, 0),
+            LocalTime.of(14, 0)
+    );
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final Cache<Long, DoctorCalendar> calendars;
+    private final int maxDaysPerDoctor;
+
+    public AvailabilityService(@NonNull DoctorRepository doctorRepository,
+                               @NonNull AppointmentRepository appointmentRepository,
+                               @NonNull MeterRegistry meterRegistry,
+                               @Value("${availability.cache.ttl:30m}") Duration ttl,
+                               @Value("${availability.cache.max-doctors:10000}") long maxDoctors,
+                               @Value("${availability.cache.max-days:400}") int maxDaysPerDoctor) {
+        this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.maxDaysPerDoctor = maxDaysPerDoctor;
+        this.calendars = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxDoctors)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, calendars, "availability");
+    }
+
+    @NonNull
+    @Timed(value = "clinic.availability.lookup", description = "Free slot lookup for one doctor")
+    public List<LocalTime> getAvailableSlots(@NonNull Long doctorId, @NonNull LocalDate date) {
+        return getAvailability(doctorId, date, date.plusDays(1)).get(date);
+    }
+
+    /**
+     * Free slots for every day in {@code [from, to)}, in date order. Days not yet cached are
+     * loaded together with a single range query.
+     */
+    @NonNull
+    @Timed(value = "clinic.availability.lookup", description = "Free slot lookup for one doctor")
+    public Map<LocalDate, List<LocalTime>> getAvailability(@NonNull Long doctorId,
+                                                           @NonNull LocalDate from,
+                                                           @NonNull LocalDate to) {
+        DoctorCalendar calendar = calendarFor(doctorId);
+        Map<LocalDate, SlotMask> occupied = occupiedMasks(doctorId, calendar, from, to);
+        Map<LocalDate, List<LocalTime>> availability = new LinkedHashMap<>();
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            availability.put(day, calendar.workingSlots.andNot(occupied.get(day)).toTimes());
+        }
+        return availability;
+    }
+
+    /**
+     * Earliest free slots for one doctor in {@code [from, to)}, restricted to the time-of-day window
+     * {@code [windowStart, windowEnd)} and to slots starting after {@code notBefore}.
+     */
+    @NonNull
+    @Timed(value = "clinic.availability.lookup", description = "Free slot lookup for one doctor")
+    public List<LocalDateTime> findEarliestSlots(@NonNull Long doctorId,
+                                                 @NonNull LocalDate from,
+                                                 @NonNull LocalDate to,
+                                                 @NonNull LocalTime windowStart,
+                                                 @NonNull LocalTime windowEnd,
+                                                 @NonNull LocalDateTime notBefore,
+                                                 int limit) {
+        DoctorCalendar calendar = calendarFor(doctorId);
+        Map<LocalDate, SlotMask> occupied = occupiedMasks(doctorId, calendar, from, to);
+        SlotMask candidates = calendar.workingSlots.and(SlotMask.between(windowStart, windowEnd));
+        List<LocalDateTime> slots = new ArrayList<>(limit);
+        for (LocalDate day = from; day.isBefore(to) && slots.size() < limit; day = day.plusDays(1)) {
+            for (LocalTime time : candidates.andNot(occupied.get(day)).toTimes()) {
+                LocalDateTime slot = day.atTime(time);
+                if (slot.isAfter(notBefore)) {
+                    slots.add(slot);
+                    if (slots.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Warms the cache for many doctors at once: one query for missing working times and one for
+     * the occupied slots of every doctor whose range is not fully cached yet.
+     */
+    public void preload(@NonNull Collection<Long> doctorIds, @NonNull LocalDate from, @NonNull LocalDate to) {
+        List<Long> unknown = doctorIds.stream().filter(id -> calendars.getIfPresent(id) == null).toList();
+        if (!unknown.isEmpty()) {
+            Map<Long, List<LocalTime>> workingTimes = new HashMap<>();
+            for (Object[] row : doctorRepository.findAvailableTimesByDoctorIds(unknown)) {
+                List<LocalTime> times = workingTimes.computeIfAbsent((Long) row[0], id -> new ArrayList<>());
+                if (row[1] != null) {
+                    times.add((LocalTime) row[1]);
+                }
+            }
+            workingTimes.forEach((id, times) -> calendars.asMap().putIfAbsent(id, newCalendar(times)));
+        }
+
+        Map<Long, DoctorCalendar> stale = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long doctorId : doctorIds) {
+            DoctorCalendar calendar = calendars.getIfPresent(doctorId);
+            if (calendar != null && !calendar.covers(from, to)) {
+                stale.put(doctorId, calendar);
+                versions.put(doctorId, calendar.version());
+            }
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<LocalDate, SlotMask>> loaded = new HashMap<>();
+        for (Long doctorId : stale.keySet()) {
+            Map<LocalDate, SlotMask> days = new HashMap<>();
+            for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+                days.put(day, SlotMask.EMPTY);
+            }
+            loaded.put(doctorId, days);
+        }
+        for (Object[] row : appointmentRepository.findOccupiedSlotTimesForDoctors(
+                stale.keySet(), from.atStartOfDay(), to.atStartOfDay())) {
+            LocalDateTime time = (LocalDateTime) row[1];
+            loaded.get((Long) row[0]).merge(time.toLocalDate(),
+                    SlotMask.EMPTY.with(slotIndex(time.toLocalTime())), SlotMask::or);
+        }
+        stale.forEach((doctorId, calendar) -> calendar.install(loaded.get(doctorId), versions.get(doctorId)));
+    }
+
+    /**
+     * Applies an appointment's current status to the cached masks once the surrounding
+     * transaction commits, so rolled-back bookings never show up as occupied.
+     */
+    public void onAppointmentChanged(@NonNull Appointment appointment) {
+        if (appointment.getDoctor() == null || appointment.getAppointmentTime() == null) {
+            return;
+        }
+        onSlotChanged(appointment.getDoctor().getId(), appointment.getAppointmentTime(),
+                appointment.getStatus() != AppointmentStatus.CANCELLED);
+    }
+
+    /**
+     * Same as {@link #onAppointmentChanged} for callers that changed rows without loading the entity.
+     */
+    public void onSlotChanged(@NonNull Long doctorId, @NonNull LocalDateTime time, boolean occupied) {
+        afterCommit(() -> {
+            DoctorCalendar calendar = calendars.getIfPresent(doctorId);
+            if (calendar != null) {
+                calendar.update(time.toLocalDate(), slotIndex(time.toLocalTime()), occupied);
+            }
+        });
+    }
+
+    /**
+     * Drops everything cached for a doctor, e.g. after their working times change. Evicts now and
+     * again after the current transaction commits, so a concurrent lookup cannot re-cache the
+     * pre-commit working times.
+     */
+    public void evictDoctor(@NonNull Long doctorId) {
+        calendars.invalidate(doctorId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> calendars.invalidate(doctorId));
+        }
+    }
+
+    private DoctorCalendar calendarFor(Long doctorId) {
+        return calendars.get(doctorId, this::loadCalendar);
+    }
+
+    private DoctorCalendar loadCalendar(Long doctorId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new ResourceNotFoundException("Doctor", "id", doctorId);
+        }
+        return newCalendar(doctorRepository.findAvailableTimesByDoctorId(doctorId));
+    }
+
+    private DoctorCalendar newCalendar(List<LocalTime> workingTimes) {
+        return new DoctorCalendar(SlotMask.of(workingTimes.isEmpty() ? DEFAULT_WORKING_TIMES : workingTimes),
+                maxDaysPerDoctor);
+    }
+
+    private Map<LocalDate, SlotMask> occupiedMasks(Long doctorId, DoctorCalendar calendar,
+                                                   LocalDate from, LocalDate to) {
+        Map<LocalDate, SlotMask> masks = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            SlotMask cached = calendar.occupied(day);
+            if (cached != null) {
+                masks.put(day, cached);
+            } else {
+                firstMissing = firstMissing == null ? day : firstMissing;
+                lastMissing = day;
+            }
+        }
+        if (firstMissing == null) {
+            return masks;
+        }
+
+        long version = calendar.version();
+        Map<LocalDate, SlotMask> loaded = new HashMap<>();
+        for (LocalDate day = firstMissing; !day.isAfter(lastMissing); day = day.plusDays(1)) {
+            loaded.put(day, SlotMask.EMPTY);
+        }
+        appointmentRepository.findOccupiedSlotTimes(
+                        doctorId, firstMissing.atStartOfDay(), lastMissing.plusDays(1).atStartOfDay())
+                .forEach(time -> loaded.merge(time.toLocalDate(),
+                        SlotMask.EMPTY.with(slotIndex(time.toLocalTime())), SlotMask::or));
+        calendar.install(loaded, version);
+        loaded.forEach(masks::putIfAbsent);
+        return masks;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static int slotIndex(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    /**
+     * Working slots plus per-day occupied masks for one doctor. Every update bumps the version so
+     * a day loaded from the database concurrently with a commit is discarded instead of cached stale.
+     */
+    private static final class DoctorCalendar {
+
+        private final SlotMask workingSlots;
+        private final Map<LocalDate, SlotMask> occupiedByDay;
+        private long version;
+
+        private DoctorCalendar(SlotMask workingSlots, int maxDays) {
+            this.workingSlots = workingSlots;
+            this.occupiedByDay = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LocalDate, SlotMask> eldest) {
+                    return size() > maxDays;
+                }
+            };
+        }
+
+        synchronized SlotMask occupied(LocalDate day) {
+            return occupiedByDay.get(day);
+        }
+
+        synchronized boolean covers(LocalDate from, LocalDate to) {
+            for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+                if (!occupiedByDay.containsKey(day)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized void install(Map<LocalDate, SlotMask> loaded, long loadedAtVersion) {
+            if (version != loadedAtVersion) {
+                return;
+            }
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            occupiedByDay.keySet().removeIf(day -> day.isBefore(yesterday));
+            occupiedByDay.putAll(loaded);
+        }
+
+        synchronized void update(LocalDate day, int slot, boolean occupied) {
+            version++;
+            SlotMask current = occupiedByDay.get(day);
+            if (current != null) {
+                occupiedByDay.put(day, occupied ? current.with(slot) : current.without(slot));
+            }
+        }
+    }
+
+    /**
+     * Immutable 96-bit set of quarter-hour slots; bit {@code n} is the slot starting {@code 15 * n} minutes after midnight.
+     */
+    record SlotMask(long low, long high) {
+
+        static final SlotMask EMPTY = new SlotMask(0L, 0L);
+
+        static SlotMask of(Collection<LocalTime> times) {
+            SlotMask mask = EMPTY;
+            for (LocalTime time : times) {
+                mask = mask.with(slotIndex(time));
+            }
+            return mask;
+        }
+
+        /**
+         * Slots starting in the time-of-day window {@code [start, end)}; {@code end} of midnight means end of day.
+         * Both bounds round up, so a slot that starts before {@code start} is never included.
+         */
+        static SlotMask between(LocalTime start, LocalTime end) {
+            int first = (start.getHour() * 60 + start.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            int last = end.equals(LocalTime.MIDNIGHT) ? SLOTS_PER_DAY : (end.getHour() * 60 + end.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            SlotMask mask = EMPTY;
+            for (int slot = first; slot < last; slot++) {
+                mask = mask.with(slot);
+            }
+            return mask;
+        }
+
+        SlotMask with(int slot) {
+            return slot < 64 ? new SlotMask(low | (1L << slot), high) : new SlotMask(low, high | (1L << (slot - 64)));
+        }
+
+        SlotMask without(int slot) {
+            return slot < 64 ? new SlotMask(low & ~(1L << slot), high) : new SlotMask(low, high & ~(1L << (slot - 64)));
+        }
+
+        SlotMask or(SlotMask other) {
+            return new SlotMask(low | other.low, high | other.high);
+        }
+
+        SlotMask and(SlotMask other) {
+            return new SlotMask(low & other.low, high & other.high);
+        }
+
+        SlotMask andNot(SlotMask other) {
+            return other == null ? this : new SlotMask(low & ~other.low, high & ~other.high);
+        }
+
+        List<LocalTime> toTimes() {
+            List<LocalTime> times = new ArrayList<>(Long.bitCount(low) + Long.bitCount(high));
+            for (long bits = low; bits != 0; bits &= bits - 1) {
+                times.add(LocalTime.MIN.plusMinutes((long) SLOT_MINUTES * Long.numberOfTrailingZeros(bits)));
+            }
+            for (long bits = high; bits != 0; bits &= bits - 1) {
+                times.add(LocalTime.MIN.plusMinutes((long) SLOT_MINUTES * (64 + Long.numberOfTrailingZeros(bits))));
+            }
+            return times;
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package com.ibm.smartclinic.backend.service;
 
+import com.ibm.smartclinic.backend.dto.CursorPage;
+import com.ibm.smartclinic.backend.dto.DoctorResponseDto;
 import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
 import com.ibm.smartclinic.backend.exception.ValidationException;
 import com.ibm.smartclinic.backend.model.Doctor;
 import com.ibm.smartclinic.backend.repository.DoctorRepository;
+import com.ibm.smartclinic.backend.security.PasswordHashingService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,13 +26,16 @@ import org.springframework.data.domain.Pageable;
 public class DoctorService {
 
     private final DoctorRepository doctorRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final AvailabilityService availabilityService;
 
     @Autowired
     public DoctorService(@NonNull DoctorRepository doctorRepository,
-                         @NonNull PasswordEncoder passwordEncoder) {
+                         @NonNull PasswordHashingService passwordHashingService,
+                         @NonNull AvailabilityService availabilityService) {
         this.doctorRepository = doctorRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.availabilityService = availabilityService;
     }
 
     /**
@@ -39,6 +46,18 @@ public class DoctorService {
         return doctorRepository.findAll(pageable);
     }
 
+    /**
+     * Keyset-paginated doctor listing ordered by id; the total is only counted when requested.
+     */
+    @NonNull
+    public CursorPage<DoctorResponseDto> scrollDoctors(@Nullable String cursor, @Nullable Integer size, boolean withTotal) {
+        Pageable limit = KeysetCursor.fetchLimit(size);
+        long afterId = cursor == null || cursor.isBlank() ? 0 : KeysetCursor.idOf(cursor);
+        Long total = withTotal ? doctorRepository.count() : null;
+        return CursorPage.of(doctorRepository.findResponsePageAfter(afterId, limit), limit.getPageSize() - 1,
+                row -> KeysetCursor.ofId(row.getId()), total);
+    }
+
     /**
      * Spring Framework 6 guarantees non-null at runtime; warning is a known static-analysis limitation.
      */
@@ -47,15 +66,14 @@ public class DoctorService {
         return doctorRepository.findBySpecialityIgnoreCase(speciality, pageable);
     }
 
-   
     @NonNull
     public List<LocalTime> getAvailableTimeSlots(@NonNull Long doctorId, @NonNull LocalDate date) {
-        // Static availability for lab/demo purposes
-        return List.of(
-                LocalTime.of(10, 0),
-                LocalTime.of(11, 0),
-                LocalTime.of(14, 0)
-        );
+        return availabilityService.getAvailableSlots(doctorId, date);
+    }
+
+    @NonNull
+    public Map<LocalDate, List<LocalTime>> getWeeklyAvailability(@NonNull Long doctorId, @NonNull LocalDate weekStart) {
+        return availabilityService.getAvailability(doctorId, weekStart, weekStart.plusWeeks(1));
     }
 
     
@@ -65,7 +83,7 @@ public class DoctorService {
             throw new ValidationException("Email and password are required");
         }
         return doctorRepository.findByEmail(email)
-                .map(doctor -> passwordEncoder.matches(password, doctor.getPassword())
+                .map(doctor -> passwordHashingService.matches(password, doctor.getPassword())
                         ? ResponseEntity.ok("Doctor login successful")
                         : ResponseEntity.status(401).body("Invalid credentials"))
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "email", email));
@@ -74,14 +92,19 @@ public class DoctorService {
     @NonNull
     public Doctor saveDoctorWithHashedPassword(@NonNull Doctor doctor) {
         if (doctor.getPassword() != null) {
-            doctor.setPassword(passwordEncoder.encode(doctor.getPassword()));
+            doctor.setPassword(passwordHashingService.encode(doctor.getPassword()));
         }
-        return doctorRepository.save(doctor);
+        return saveDoctor(doctor);
     }
 
+    /**
+     * Saves the doctor and drops their cached availability, which is built from the working times.
+     */
     @NonNull
     public Doctor saveDoctor(@NonNull Doctor doctor) {
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        availabilityService.evictDoctor(saved.getId());
+        return saved;
     }
 
     /**
@@ -92,6 +115,14 @@ public class DoctorService {
         return doctorRepository.findByEmail(email);
     }
 
+    /**
+     * Uninitialized proxy for callers that only need the doctor's id; no query is issued.
+     */
+    @NonNull
+    public Doctor getReference(@NonNull Long doctorId) {
+        return doctorRepository.getReferenceById(doctorId);
+    }
+
     @NonNull
     public Doctor requireById(@NonNull Long doctorId) {
         return doctorRepository.findById(doctorId)
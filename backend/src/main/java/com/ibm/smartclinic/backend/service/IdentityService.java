@@ -5,14 +5,20 @@ import com.ibm.smartclinic.backend.exception.ValidationException;
 import com.ibm.smartclinic.backend.model.UserIdentity;
 import com.ibm.smartclinic.backend.model.UserRole;
 import com.ibm.smartclinic.backend.repository.UserIdentityRepository;
+import com.ibm.smartclinic.backend.security.PasswordHashingService;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
+import io.micrometer.core.annotation.Timed;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import org.springframework.lang.NonNull;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 @Service
@@ -20,12 +26,21 @@ import org.springframework.util.StringUtils;
 public class IdentityService {
 
     private final UserIdentityRepository userIdentityRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
 
     public IdentityService(@NonNull UserIdentityRepository userIdentityRepository,
-                           @NonNull PasswordEncoder passwordEncoder) {
+                           @NonNull PasswordHashingService passwordHashingService,
+                           @NonNull PrincipalCache principalCache,
+                           @NonNull PlatformTransactionManager transactionManager) {
         this.userIdentityRepository = userIdentityRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.principalCache = principalCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
     public String normalizeEmail(String value) {
@@ -48,9 +63,11 @@ public class IdentityService {
         UserIdentity identity = new UserIdentity();
         identity.setEmail(normalized);
         identity.setRole(role);
-        identity.setPasswordHash(passwordEncoder.encode(rawPassword));
+        identity.setPasswordHash(passwordHashingService.encode(rawPassword));
         identity.setActive(true);
-        return userIdentityRepository.save(identity);
+        UserIdentity saved = userIdentityRepository.save(identity);
+        principalCache.evict(normalized);
+        return saved;
     }
 
     public UserIdentity provisionIdentity(@NonNull String email,
@@ -62,10 +79,11 @@ public class IdentityService {
                 .map(existing -> {
                     enforceRole(existing, role);
                     if (needsPasswordRefresh(existing.getPasswordHash(), rawPassword)) {
-                        existing.setPasswordHash(passwordEncoder.encode(rawPassword));
+                        existing.setPasswordHash(passwordHashingService.encode(rawPassword));
                     }
                     if (!existing.isActive()) {
                         existing.setActive(true);
+                        principalCache.evict(normalized);
                     }
                     return existing;
                 })
@@ -78,13 +96,21 @@ public class IdentityService {
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
     }
 
+    /**
+     * Checks the credentials of a login. BCrypt may wait up to {@code auth.hashing.max-wait} for a
+     * hashing slot, so it runs outside any transaction: the identity is read in a short read-only
+     * transaction and a legacy password is upgraded in a separate one, and no pooled connection is
+     * held while the hash is checked.
+     */
+    @Timed(value = "clinic.auth.authenticate", description = "Credential check at login, including password hashing")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserIdentity authenticate(@NonNull String email,
                                      @NonNull String rawPassword,
                                      @NonNull UserRole expectedRole) {
         String normalized = validateEmail(email);
         validatePassword(rawPassword);
-        UserIdentity identity = userIdentityRepository.findByEmail(normalized)
-                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+        UserIdentity identity = readTransaction.execute(status -> userIdentityRepository.findByEmail(normalized)
+                .orElseThrow(() -> new BadCredentialsException("Invalid credentials")));
 
         enforceRole(identity, expectedRole);
         if (!identity.isActive()) {
@@ -93,7 +119,9 @@ public class IdentityService {
         if (!matchesPassword(rawPassword, identity.getPasswordHash())) {
             throw new BadCredentialsException("Invalid credentials");
         }
-        upgradePasswordIfNeeded(identity, rawPassword);
+        if (needsPasswordRefresh(identity.getPasswordHash(), rawPassword)) {
+            return storeUpgradedPassword(identity, passwordHashingService.encode(rawPassword));
+        }
         return identity;
     }
 
@@ -107,10 +135,17 @@ public class IdentityService {
         }
     }
 
-    private void upgradePasswordIfNeeded(UserIdentity identity, String rawPassword) {
-        if (needsPasswordRefresh(identity.getPasswordHash(), rawPassword)) {
-            identity.setPasswordHash(passwordEncoder.encode(rawPassword));
-        }
+    /**
+     * Replaces the checked password with its hash unless another request changed it meanwhile.
+     */
+    private UserIdentity storeUpgradedPassword(UserIdentity checked, String hash) {
+        return writeTransaction.execute(status -> {
+            UserIdentity current = userIdentityRepository.findById(checked.getId()).orElse(checked);
+            if (Objects.equals(current.getPasswordHash(), checked.getPasswordHash())) {
+                current.setPasswordHash(hash);
+            }
+            return current;
+        });
     }
 
     private boolean needsPasswordRefresh(String storedPassword, String rawPassword) {
@@ -124,7 +159,7 @@ public class IdentityService {
         if (!StringUtils.hasText(storedPassword)) {
             return false;
         }
-        if (passwordEncoder.matches(rawPassword, storedPassword)) {
+        if (passwordHashingService.matches(rawPassword, storedPassword)) {
             return true;
         }
         return !isBcrypt(storedPassword) && storedPassword.equals(rawPassword);
@@ -0,0 +1,91 @@
+package com.ibm.smartclinic.backend.service;
+
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token encodes the sort key of the last row
+ * returned, so the next page is a range seek on the index rather than an {@code OFFSET} scan, and
+ * rows inserted meanwhile never shift or duplicate entries across pages.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    public record TimeAndId(LocalDateTime time, long id) {}
+
+    private KeysetCursor() {
+    }
+
+    @NonNull
+    public static String ofId(long id) {
+        return encode(Long.toString(id));
+    }
+
+    @NonNull
+    public static String ofTimeAndId(@NonNull LocalDateTime time, long id) {
+        return encode(time + SEPARATOR + id);
+    }
+
+    public static long idOf(@NonNull String cursor) {
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException ex) {
+            throw invalid();
+        }
+    }
+
+    @NonNull
+    public static TimeAndId timeAndIdOf(@NonNull String cursor) {
+        String value = decode(cursor);
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalid();
+        }
+        try {
+            return new TimeAndId(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Row limit for a page of {@code size}: one extra row tells whether another page follows.
+     * Offset is always zero, so no count query or {@code OFFSET} is issued.
+     */
+    @NonNull
+    public static Pageable fetchLimit(@Nullable Integer size) {
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE, "size");
+        }
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalid();
+        }
+    }
+
+    private static ValidationException invalid() {
+        return new ValidationException("Invalid pagination cursor", "cursor");
+    }
+}
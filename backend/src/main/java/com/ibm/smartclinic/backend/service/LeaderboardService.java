@@ -0,0 +1,126 @@
+package com.ibm.smartclinic.backend.service;
+
+import com.ibm.smartclinic.backend.dto.DoctorPatientCountDto;
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.repository.PatientSketchRepository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * "Top doctor by distinct patients" over arbitrary periods, replacing the month and year
+ * procedures that ran {@code COUNT(DISTINCT patient_id)} over the whole period. Each doctor and
+ * day has one {@link HyperLogLog} sketch; a period's answer merges its daily sketches in memory,
+ * so its cost depends on the number of days and doctors, not on the number of appointments.
+ * Daily sketches are stored sparse, so a year of them reads a few dozen bytes per doctor and day
+ * rather than 1 KiB.
+ *
+ * <p>Estimates carry the sketch's ±{@value HyperLogLog#STANDARD_ERROR} relative standard error;
+ * pass {@code exact} to recount from the appointment table instead. Patients are counted once
+ * they have booked, so a later cancellation does not remove them, on either path.
+ */
+@Service
+public class LeaderboardService {
+
+    static final int MAX_RANGE_DAYS = 366;
+    static final int MAX_LIMIT = 100;
+
+    private final PatientSketchRepository sketchRepository;
+
+    public LeaderboardService(@NonNull PatientSketchRepository sketchRepository) {
+        this.sketchRepository = sketchRepository;
+    }
+
+    /**
+     * Adds the patients of newly booked appointments to their doctor's daily sketch. Each sketch
+     * is read with a locking read, so concurrent bookings merge one after another into the latest
+     * registers. A missing row is inserted; only {@link ReportService#onBooked} calls this, after
+     * incrementing the same doctor and day, and that rollup row lock keeps two first bookings of a
+     * day from both inserting.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onBooked(@NonNull Collection<Appointment> appointments) {
+        Map<Long, Map<LocalDate, HyperLogLog>> updates = new TreeMap<>();
+        for (Appointment appointment : appointments) {
+            updates.computeIfAbsent(appointment.getDoctor().getId(), id -> new TreeMap<>())
+                    .computeIfAbsent(appointment.getAppointmentTime().toLocalDate(), day -> new HyperLogLog())
+                    .add(appointment.getPatient().getId());
+        }
+        updates.forEach((doctorId, days) -> days.forEach((day, added) -> {
+            Optional<byte[]> stored = sketchRepository.findForUpdate(doctorId, day);
+            if (stored.isPresent()) {
+                HyperLogLog sketch = HyperLogLog.fromBytes(stored.get());
+                sketch.merge(added);
+                sketchRepository.update(doctorId, day, sketch.toBytes());
+            } else {
+                sketchRepository.insert(doctorId, day, added.toBytes());
+            }
+        }));
+    }
+
+    /**
+     * Doctors with the most distinct patients in {@code [from, to]}, highest first.
+     */
+    @NonNull
+    @Transactional(readOnly = true)
+    public List<DoctorPatientCountDto> topDoctors(@NonNull LocalDate from, @NonNull LocalDate to, int limit, boolean exact) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("End date must not be before start date", "to");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to.plusDays(1))) {
+            throw new ValidationException("Leaderboard range must not exceed " + MAX_RANGE_DAYS + " days", "to");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT, "limit");
+        }
+        if (exact) {
+            return sketchRepository.countExactBetween(from, to, limit);
+        }
+
+        Map<Long, HyperLogLog> merged = new HashMap<>();
+        sketchRepository.forEachBetween(from, to, (doctorId, registers) ->
+                merged.computeIfAbsent(doctorId, id -> new HyperLogLog()).merge(registers));
+        List<Map.Entry<Long, Long>> top = merged.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().estimate()))
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+        Map<Long, String> names = sketchRepository.findDoctorNames(top.stream().map(Map.Entry::getKey).toList());
+        return top.stream()
+                .map(entry -> new DoctorPatientCountDto(entry.getKey(), names.get(entry.getKey()), entry.getValue(), false))
+                .toList();
+    }
+
+    /**
+     * Replaces the sketches of {@code [from, to]} with ones recomputed from the appointment table;
+     * runs inside the report rebuild's chunk transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int rebuild(@NonNull LocalDate from, @NonNull LocalDate to) {
+        sketchRepository.deleteBetween(from, to);
+        Map<Long, Map<LocalDate, HyperLogLog>> sketches = new HashMap<>();
+        sketchRepository.forEachVisitBetween(from, to, (doctorId, day, patientId) ->
+                sketches.computeIfAbsent(doctorId, id -> new HashMap<>())
+                        .computeIfAbsent(day, d -> new HyperLogLog())
+                        .add(patientId));
+        Map<Long, Map<LocalDate, byte[]>> registers = new HashMap<>();
+        int written = 0;
+        for (Map.Entry<Long, Map<LocalDate, HyperLogLog>> doctor : sketches.entrySet()) {
+            Map<LocalDate, byte[]> days = new HashMap<>();
+            doctor.getValue().forEach((day, sketch) -> days.put(day, sketch.toBytes()));
+            registers.put(doctor.getKey(), days);
+            written += days.size();
+        }
+        sketchRepository.insertAll(registers);
+        return written;
+    }
+}
@@ -1,12 +1,16 @@
 package com.ibm.smartclinic.backend.service;
 
+import com.ibm.smartclinic.backend.dto.CursorPage;
+import com.ibm.smartclinic.backend.dto.PatientResponseDto;
+import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
 import com.ibm.smartclinic.backend.model.Patient;
 import com.ibm.smartclinic.backend.repository.PatientRepository;
+import com.ibm.smartclinic.backend.security.PasswordHashingService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import java.util.Optional;
 
@@ -14,18 +18,18 @@ import java.util.Optional;
 public class PatientService {
 
     private final PatientRepository patientRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     public PatientService(@NonNull PatientRepository patientRepository,
-                          @NonNull PasswordEncoder passwordEncoder) {
+                          @NonNull PasswordHashingService passwordHashingService) {
         this.patientRepository = patientRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
     }
 
     @NonNull
     public Patient savePatientWithHashedPassword(@NonNull Patient patient) {
         if (patient.getPassword() != null) {
-            patient.setPassword(passwordEncoder.encode(patient.getPassword()));
+            patient.setPassword(passwordHashingService.encode(patient.getPassword()));
         }
         return patientRepository.save(patient);
     }
@@ -43,6 +47,20 @@ public class PatientService {
         return patientRepository.findByEmail(email);
     }
 
+    /**
+     * Uninitialized proxy for callers that only need the patient's id; no query is issued.
+     */
+    @NonNull
+    public Patient getReference(@NonNull Long patientId) {
+        return patientRepository.getReferenceById(patientId);
+    }
+
+    @NonNull
+    public Patient requireById(@NonNull Long patientId) {
+        return patientRepository.findById(patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", patientId));
+    }
+
     /**
      * Spring Framework 6 guarantees non-null at runtime; warning is a known static-analysis limitation.
      */
@@ -50,4 +68,16 @@ public class PatientService {
     public Page<Patient> getAllPatients(@NonNull Pageable pageable) {
         return patientRepository.findAll(pageable);
     }
+
+    /**
+     * Keyset-paginated patient listing ordered by id; the total is only counted when requested.
+     */
+    @NonNull
+    public CursorPage<PatientResponseDto> scrollPatients(@Nullable String cursor, @Nullable Integer size, boolean withTotal) {
+        Pageable limit = KeysetCursor.fetchLimit(size);
+        long afterId = cursor == null || cursor.isBlank() ? 0 : KeysetCursor.idOf(cursor);
+        Long total = withTotal ? patientRepository.count() : null;
+        return CursorPage.of(patientRepository.findResponsePageAfter(afterId, limit), limit.getPageSize() - 1,
+                row -> KeysetCursor.ofId(row.id()), total);
+    }
 }
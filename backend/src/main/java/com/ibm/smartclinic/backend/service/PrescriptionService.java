@@ -2,6 +2,7 @@ package com.ibm.smartclinic.backend.service;
 
 import com.ibm.smartclinic.backend.dto.PrescriptionRequestDto;
 import com.ibm.smartclinic.backend.dto.PrescriptionResponseDto;
+import com.ibm.smartclinic.backend.event.OutboxWriter;
 import com.ibm.smartclinic.backend.exception.ResourceNotFoundException;
 import com.ibm.smartclinic.backend.exception.ValidationException;
 import com.ibm.smartclinic.backend.model.Appointment;
@@ -10,7 +11,11 @@ import com.ibm.smartclinic.backend.model.Doctor;
 import com.ibm.smartclinic.backend.model.Prescription;
 import com.ibm.smartclinic.backend.repository.AppointmentRepository;
 import com.ibm.smartclinic.backend.repository.PrescriptionRepository;
-import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,11 +26,14 @@ public class PrescriptionService {
 
     private final PrescriptionRepository prescriptionRepository;
     private final AppointmentRepository appointmentRepository;
+    private final OutboxWriter outboxWriter;
 
     public PrescriptionService(@NonNull PrescriptionRepository prescriptionRepository,
-                               @NonNull AppointmentRepository appointmentRepository) {
+                               @NonNull AppointmentRepository appointmentRepository,
+                               @NonNull OutboxWriter outboxWriter) {
         this.prescriptionRepository = prescriptionRepository;
         this.appointmentRepository = appointmentRepository;
+        this.outboxWriter = outboxWriter;
     }
 
     @NonNull
@@ -56,25 +64,51 @@ public class PrescriptionService {
         prescription.setAppointment(appointment);
 
         Prescription saved = prescriptionRepository.save(prescription);
+        outboxWriter.prescriptionIssued(saved);
         return mapToDto(saved);
     }
 
     @NonNull
     @Transactional(readOnly = true)
-    public List<PrescriptionResponseDto> getPrescriptionsForDoctor(@NonNull Long doctorId) {
-        return prescriptionRepository.findByAppointmentDoctorId(doctorId)
-                .stream()
-                .map(this::mapToDto)
-                .toList();
+    public Slice<PrescriptionResponseDto> getPrescriptionsForDoctor(@NonNull Long doctorId, @NonNull Pageable pageable) {
+        return prescriptionRepository.findResponsesByDoctorId(doctorId, unsorted(pageable));
     }
 
+    /**
+     * One page of the patient's prescriptions, newest first. With {@code withDetails} each row also
+     * carries the prescribing doctor's name and the appointment time, from the same single query.
+     */
     @NonNull
     @Transactional(readOnly = true)
-    public List<PrescriptionResponseDto> getPrescriptionsForPatient(@NonNull Long patientId) {
-        return prescriptionRepository.findByAppointmentPatientId(patientId)
-                .stream()
-                .map(this::mapToDto)
-                .toList();
+    public Slice<PrescriptionResponseDto> getPrescriptionsForPatient(@NonNull Long patientId, boolean withDetails,
+                                                                     @NonNull Pageable pageable) {
+        return withDetails
+                ? prescriptionRepository.findDetailedResponsesByPatientId(patientId, unsorted(pageable))
+                : prescriptionRepository.findResponsesByPatientId(patientId, unsorted(pageable));
+    }
+
+    /**
+     * Hands the doctor's full prescription history to {@code sink} row by row from a database cursor.
+     */
+    @Transactional(readOnly = true)
+    public void streamPrescriptionsForDoctor(@NonNull Long doctorId, @NonNull Consumer<? super PrescriptionResponseDto> sink) {
+        try (Stream<PrescriptionResponseDto> rows = prescriptionRepository.streamByDoctorId(doctorId)) {
+            rows.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamPrescriptionsForPatient(@NonNull Long patientId, boolean withDetails,
+                                              @NonNull Consumer<? super PrescriptionResponseDto> sink) {
+        try (Stream<PrescriptionResponseDto> rows = withDetails
+                ? prescriptionRepository.streamDetailedByPatientId(patientId)
+                : prescriptionRepository.streamByPatientId(patientId)) {
+            rows.forEach(sink);
+        }
+    }
+
+    private Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
     }
 
     @NonNull
@@ -0,0 +1,166 @@
+package com.ibm.smartclinic.backend.service;
+
+import com.ibm.smartclinic.backend.dto.DailyReportDto;
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.repository.AppointmentRollupRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Daily appointment report backed by {@code appointment_daily_rollup}. The appointment write paths
+ * call {@link #onBooked} and {@link #onStatusChanged} inside their own transaction, so counters and
+ * appointments commit together and a report is a primary-key lookup rather than a scan.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    static final int MAX_RANGE_DAYS = 366;
+    static final int REBUILD_CHUNK_DAYS = 31;
+
+    private final AppointmentRollupRepository rollupRepository;
+    private final LeaderboardService leaderboardService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final boolean rebuildOnStartup;
+
+    public ReportService(@NonNull AppointmentRollupRepository rollupRepository,
+                         @NonNull LeaderboardService leaderboardService,
+                         @NonNull JdbcTemplate jdbcTemplate,
+                         @NonNull PlatformTransactionManager transactionManager,
+                         @Value("${reports.rollup.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.rollupRepository = rollupRepository;
+        this.leaderboardService = leaderboardService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Records new bookings as one increment per doctor and day, then adds their patients to the
+     * distinct-patient sketches. Rows are touched in doctor and day order so concurrent batches
+     * lock them in the same order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onBooked(@NonNull Collection<Appointment> appointments) {
+        Map<Long, Map<LocalDate, Integer>> counts = new TreeMap<>();
+        for (Appointment appointment : appointments) {
+            counts.computeIfAbsent(appointment.getDoctor().getId(), id -> new TreeMap<>())
+                    .merge(appointment.getAppointmentTime().toLocalDate(), 1, Integer::sum);
+        }
+        counts.forEach((doctorId, days) ->
+                days.forEach((day, count) -> rollupRepository.increment(doctorId, day, count, 0, 0)));
+        leaderboardService.onBooked(appointments);
+    }
+
+    /**
+     * Moves one appointment from the BOOKED counter to the counter of its new status.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(@NonNull Long doctorId, @NonNull LocalDateTime appointmentTime,
+                                @NonNull AppointmentStatus status) {
+        switch (status) {
+            case COMPLETED -> rollupRepository.increment(doctorId, appointmentTime.toLocalDate(), -1, 1, 0);
+            case CANCELLED -> rollupRepository.increment(doctorId, appointmentTime.toLocalDate(), -1, 0, 1);
+            case BOOKED -> { }
+        }
+    }
+
+    /**
+     * Every doctor with appointments on {@code day}, replacing the full-table
+     * GetDailyAppointmentReportByDoctor procedure.
+     */
+    @NonNull
+    @Transactional(readOnly = true)
+    public List<DailyReportDto> getDailyReport(@NonNull LocalDate day) {
+        return rollupRepository.findByDay(day);
+    }
+
+    /**
+     * One row per day in {@code [from, to]} on which the doctor had appointments.
+     */
+    @NonNull
+    @Transactional(readOnly = true)
+    public List<DailyReportDto> getDoctorReport(@NonNull Long doctorId, @NonNull LocalDate from, @NonNull LocalDate to) {
+        requireRange(from, to);
+        return rollupRepository.findByDoctorBetween(doctorId, from, to);
+    }
+
+    /**
+     * Recomputes the counters and distinct-patient sketches for {@code [from, to]} from the
+     * appointment table, one transaction per {@value #REBUILD_CHUNK_DAYS}-day chunk so a long
+     * backfill never holds locks on the whole range. Returns the number of rollup rows written.
+     */
+    public int rebuild(@NonNull LocalDate from, @NonNull LocalDate to) {
+        requireRange(from, to);
+        return rebuildChunks(from, to);
+    }
+
+    /**
+     * Recomputes every day that has appointments.
+     */
+    public int rebuildAll() {
+        LocalDateTime[] bounds = jdbcTemplate.queryForObject(
+                "SELECT MIN(appointment_time), MAX(appointment_time) FROM appointment",
+                (rs, rowNum) -> new LocalDateTime[] {
+                        rs.getObject(1, LocalDateTime.class), rs.getObject(2, LocalDateTime.class)});
+        if (bounds == null || bounds[0] == null) {
+            return 0;
+        }
+        return rebuildChunks(bounds[0].toLocalDate(), bounds[1].toLocalDate());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            long started = System.nanoTime();
+            int rows = rebuildAll();
+            log.info("Rebuilt {} daily rollup rows in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private int rebuildChunks(LocalDate from, LocalDate to) {
+        int rows = 0;
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate chunkStart = start;
+            LocalDate chunkEnd = start.plusDays(REBUILD_CHUNK_DAYS - 1L).isAfter(to)
+                    ? to : start.plusDays(REBUILD_CHUNK_DAYS - 1L);
+            Integer written = chunkTransaction.execute(status -> {
+                int rollupRows = rollupRepository.rebuild(chunkStart, chunkEnd);
+                leaderboardService.rebuild(chunkStart, chunkEnd);
+                return rollupRows;
+            });
+            rows += written != null ? written : 0;
+        }
+        return rows;
+    }
+
+    private void requireRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("End date must not be before start date", "to");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to.plusDays(1))) {
+            throw new ValidationException("Report range must not exceed " + MAX_RANGE_DAYS + " days", "to");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Per-doctor, per-day appointment counters maintained by the booking and status-change paths,
+-- so daily reports read a handful of rows instead of aggregating the appointment table.
+CREATE TABLE appointment_daily_rollup (
+    doctor_id BIGINT NOT NULL,
+    report_date DATE NOT NULL,
+    booked INT NOT NULL DEFAULT 0,
+    completed INT NOT NULL DEFAULT 0,
+    cancelled INT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_appointment_daily_rollup PRIMARY KEY (doctor_id, report_date),
+    CONSTRAINT fk_rollup_doctor FOREIGN KEY (doctor_id) REFERENCES doctor(id)
+);
+
+CREATE INDEX idx_rollup_date_doctor ON appointment_daily_rollup (report_date, doctor_id);
+
+INSERT INTO appointment_daily_rollup (doctor_id, report_date, booked, completed, cancelled)
+SELECT doctor_id,
+       CAST(appointment_time AS DATE),
+       SUM(CASE WHEN status = 'COMPLETED' OR status = 'CANCELLED' THEN 0 ELSE 1 END),
+       SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END)
+FROM appointment
+GROUP BY doctor_id, CAST(appointment_time AS DATE);
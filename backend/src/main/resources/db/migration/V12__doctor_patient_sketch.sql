@@ -0,0 +1,11 @@
+-- One HyperLogLog sketch (1024 one-byte registers) of distinct patients per doctor and day.
+-- Sketches cannot be computed in SQL, so existing history is filled in by the report rebuild job.
+CREATE TABLE doctor_patient_sketch (
+    doctor_id BIGINT NOT NULL,
+    report_date DATE NOT NULL,
+    registers VARBINARY(1024) NOT NULL,
+    CONSTRAINT pk_doctor_patient_sketch PRIMARY KEY (doctor_id, report_date),
+    CONSTRAINT fk_sketch_doctor FOREIGN KEY (doctor_id) REFERENCES doctor(id)
+);
+
+CREATE INDEX idx_sketch_date_doctor ON doctor_patient_sketch (report_date, doctor_id);
@@ -0,0 +1,24 @@
+-- Transactional outbox: appointment and prescription events are written in the same transaction
+-- as the change they describe and relayed to subscribers in id order.
+CREATE TABLE outbox_event (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    doctor_id BIGINT NOT NULL,
+    doctor_sequence BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP NULL,
+    CONSTRAINT uq_outbox_doctor_sequence UNIQUE (doctor_id, doctor_sequence)
+);
+
+CREATE INDEX idx_outbox_unpublished ON outbox_event (published_at, id);
+
+-- Per-doctor event counter; writers lock their doctor's row until commit, so one doctor's events
+-- commit in sequence order and become visible to the relay in that order.
+CREATE TABLE outbox_partition (
+    doctor_id BIGINT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+INSERT INTO outbox_partition (doctor_id, last_sequence) SELECT id, 0 FROM doctor;
@@ -0,0 +1,7 @@
+-- Fingerprint of the migration scripts and schema history recorded after the last validated
+-- migrate; the fast-start profile skips Flyway on startup while it still matches (single row).
+CREATE TABLE schema_validation_marker (
+    id INT PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    validated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Single-row lease that lets only one application instance relay the outbox at a time, so events
+-- are delivered once and in id order however many replicas run. expires_at is on the database clock;
+-- a holder that dies stops renewing and another instance takes over once it passes.
+CREATE TABLE outbox_relay_lease (
+    id INT PRIMARY KEY,
+    owner VARCHAR(64) NULL,
+    expires_at TIMESTAMP NULL
+);
+
+INSERT INTO outbox_relay_lease (id, owner, expires_at) VALUES (1, NULL, NULL);
@@ -0,0 +1,2 @@
+-- Composite index backing per-doctor calendar lookups over [startOfDay, nextDay)
+CREATE INDEX idx_appointment_doctor_time ON appointment (doctor_id, appointment_time);
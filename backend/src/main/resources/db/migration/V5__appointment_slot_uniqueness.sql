@@ -0,0 +1,7 @@
+-- One live appointment per doctor and time slot. Neither H2 nor MySQL supports partial
+-- indexes, so active_slot is NULL for CANCELLED rows; NULLs never collide in a unique index,
+-- which lets a cancelled slot be booked again.
+ALTER TABLE appointment ADD COLUMN active_slot BOOLEAN
+    GENERATED ALWAYS AS (CASE WHEN status = 'CANCELLED' THEN NULL ELSE TRUE END);
+
+CREATE UNIQUE INDEX uq_appointment_doctor_slot ON appointment (doctor_id, appointment_time, active_slot);
@@ -0,0 +1,8 @@
+-- Backing table for Doctor.availableTimes (@ElementCollection): the doctor's bookable times of day
+CREATE TABLE doctor_available_times (
+    doctor_id BIGINT NOT NULL,
+    available_times TIME NOT NULL,
+    CONSTRAINT fk_doctor_available_times_doctor FOREIGN KEY (doctor_id) REFERENCES doctor(id)
+);
+
+CREATE INDEX idx_doctor_available_times_doctor ON doctor_available_times (doctor_id);
@@ -0,0 +1,2 @@
+-- Keyset pagination over a patient's appointments seeks on (appointment_time, id)
+CREATE INDEX idx_appointment_patient_time ON appointment (patient_id, appointment_time, id);
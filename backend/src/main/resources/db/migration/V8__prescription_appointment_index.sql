@@ -0,0 +1,2 @@
+-- Prescription listings join from the patient's/doctor's appointments into prescription by appointment_id
+CREATE INDEX idx_prescription_appointment ON prescription (appointment_id, id);
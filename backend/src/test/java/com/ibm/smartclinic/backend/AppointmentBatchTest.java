@@ -0,0 +1,164 @@
+package com.ibm.smartclinic.backend;
+
+import static com.ibm.smartclinic.backend.ClinicFixtures.newAppointment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.smartclinic.backend.dto.AppointmentTransitionDto;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.TokenService;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.DoctorService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class AppointmentBatchTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2033, 3, 7, 10, 0);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookingBatchReportsEachItemAndInsertsTheRest() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = createDoctor("batch.book.doctor." + suffix + "@clinic.test");
+        Patient patient = fixtures.createPatient("batch.book.patient." + suffix + "@clinic.test");
+        appointmentService.bookAppointment(newAppointment(doctor, patient, MONDAY.plusWeeks(2)));
+
+        List<Map<String, Object>> items = List.of(
+                booking(doctor.getId(), MONDAY),
+                booking(doctor.getId(), MONDAY.plusWeeks(1)),
+                booking(doctor.getId(), MONDAY),
+                booking(doctor.getId(), MONDAY.plusWeeks(2)),
+                booking(Long.MAX_VALUE, MONDAY));
+
+        mockMvc.perform(post("/api/appointments/batch")
+                        .header("Authorization", "Bearer " + token(patient, UserRole.PATIENT))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("items", items))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.items[0].success").value(true))
+                .andExpect(jsonPath("$.items[0].status").value("BOOKED"))
+                .andExpect(jsonPath("$.items[1].appointmentId").exists())
+                .andExpect(jsonPath("$.items[2].code").value("DOUBLE_BOOKING"))
+                .andExpect(jsonPath("$.items[3].code").value("DOUBLE_BOOKING"))
+                .andExpect(jsonPath("$.items[4].code").value("DOCTOR_NOT_FOUND"));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointment WHERE doctor_id = ?", Integer.class, doctor.getId()))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void transitionBatchAppliesValidItemsAndFreesCancelledSlots() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = createDoctor("batch.status.doctor." + suffix + "@clinic.test");
+        Doctor otherDoctor = createDoctor("batch.status.other." + suffix + "@clinic.test");
+        Patient patient = fixtures.createPatient("batch.status.patient." + suffix + "@clinic.test");
+        Appointment first = appointmentService.bookAppointment(newAppointment(doctor, patient, MONDAY));
+        Appointment second = appointmentService.bookAppointment(newAppointment(doctor, patient, MONDAY.plusHours(1)));
+        Appointment foreign = appointmentService.bookAppointment(newAppointment(otherDoctor, patient, MONDAY));
+
+        List<AppointmentTransitionDto> items = List.of(
+                new AppointmentTransitionDto(first.getId(), AppointmentStatus.COMPLETED),
+                new AppointmentTransitionDto(second.getId(), AppointmentStatus.CANCELLED),
+                new AppointmentTransitionDto(foreign.getId(), AppointmentStatus.CANCELLED),
+                new AppointmentTransitionDto(first.getId(), AppointmentStatus.CANCELLED),
+                new AppointmentTransitionDto(Long.MAX_VALUE, AppointmentStatus.COMPLETED));
+
+        mockMvc.perform(post("/api/appointments/batch/status")
+                        .header("Authorization", "Bearer " + token(doctor, UserRole.DOCTOR))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("items", items))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.items[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.items[1].status").value("CANCELLED"))
+                .andExpect(jsonPath("$.items[2].code").value("VALIDATION_FAILED"))
+                .andExpect(jsonPath("$.items[3].code").value("DUPLICATE_ITEM"))
+                .andExpect(jsonPath("$.items[4].code").value("NOT_FOUND"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM appointment WHERE id = ?", String.class, first.getId()))
+                .isEqualTo("COMPLETED");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM appointment WHERE id = ?", String.class, foreign.getId()))
+                .isEqualTo("BOOKED");
+        assertThat(doctorService.getAvailableTimeSlots(doctor.getId(), MONDAY.toLocalDate()))
+                .contains(MONDAY.plusHours(1).toLocalTime());
+    }
+
+    @Test
+    void oversizedBatchIsRejected() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        Patient patient = fixtures.createPatient("batch.large.patient." + suffix + "@clinic.test");
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            items.add(booking(1L, MONDAY.plusMinutes(15L * i)));
+        }
+
+        mockMvc.perform(post("/api/appointments/batch")
+                        .header("Authorization", "Bearer " + token(patient, UserRole.PATIENT))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("items", items))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Map<String, Object> booking(Long doctorId, LocalDateTime time) {
+        return Map.of("doctorId", doctorId, "appointmentTime", time.toString());
+    }
+
+    private String token(Doctor doctor, UserRole role) {
+        return tokenService.generateToken(doctor.getEmail(), role.name(), null, doctor.getId());
+    }
+
+    private String token(Patient patient, UserRole role) {
+        return tokenService.generateToken(patient.getEmail(), role.name(), null, patient.getId());
+    }
+
+    private Doctor createDoctor(String email) {
+        return fixtures.createDoctor(email, "Physiotherapy",
+                List.of(MONDAY.toLocalTime(), MONDAY.plusHours(1).toLocalTime()));
+    }
+}
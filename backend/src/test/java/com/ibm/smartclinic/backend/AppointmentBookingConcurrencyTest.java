@@ -0,0 +1,124 @@
+package com.ibm.smartclinic.backend;
+
+import static com.ibm.smartclinic.backend.ClinicFixtures.newAppointment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.smartclinic.backend.exception.ConflictException;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class AppointmentBookingConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int SLOTS = 25;
+    private static final int PATIENTS = 4;
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentBookingsNeverDoubleBookASlot() throws Exception {
+        Doctor doctor = fixtures.createDoctor("stress.doctor@clinic.test", "Cardiology");
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < PATIENTS; i++) {
+            patients.add(fixtures.createPatient("stress.patient" + i + "@clinic.test"));
+        }
+        LocalDateTime firstSlot = LocalDateTime.of(2031, 3, 3, 8, 0);
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Patient patient = patients.get(t % PATIENTS);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int slot = 0; slot < SLOTS; slot++) {
+                        try {
+                            appointmentService.bookAppointment(newAppointment(doctor, patient, firstSlot.plusMinutes(15L * slot)));
+                            booked.incrementAndGet();
+                        } catch (ConflictException ex) {
+                            assertThat(ex.getCode()).isEqualTo("DOUBLE_BOOKING");
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(booked.get()).isEqualTo(SLOTS);
+        assertThat(rejected.get()).isEqualTo(THREADS * SLOTS - SLOTS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointment WHERE doctor_id = ?", Integer.class, doctor.getId()))
+                .isEqualTo(SLOTS);
+    }
+
+    @Test
+    void cancelledSlotCanBeBookedAgain() {
+        Doctor doctor = fixtures.createDoctor("rebook.doctor@clinic.test", "Cardiology");
+        Patient patient = fixtures.createPatient("rebook.patient@clinic.test");
+        LocalDateTime slot = LocalDateTime.of(2031, 3, 4, 9, 0);
+
+        Appointment first = appointmentService.bookAppointment(newAppointment(doctor, patient, slot));
+        appointmentService.cancelAppointment(first.getId(), doctor);
+
+        Appointment second = appointmentService.bookAppointment(newAppointment(doctor, patient, slot));
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void doubleBookingIsRejectedWithoutJdbcErrorLogging(CapturedOutput output) {
+        Doctor doctor = fixtures.createDoctor("quiet.doctor@clinic.test", "Cardiology");
+        Patient patient = fixtures.createPatient("quiet.patient@clinic.test");
+        LocalDateTime slot = LocalDateTime.of(2031, 3, 5, 9, 0);
+        appointmentService.bookAppointment(newAppointment(doctor, patient, slot));
+
+        assertThatThrownBy(() -> appointmentService.bookAppointment(newAppointment(doctor, patient, slot)))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(output.getOut())
+                .doesNotContain("HHH100501")
+                .doesNotContainIgnoringCase("uq_appointment_doctor_slot")
+                .doesNotContain("SqlExceptionHelper");
+    }
+}
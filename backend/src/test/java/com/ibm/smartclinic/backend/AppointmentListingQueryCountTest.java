@@ -0,0 +1,103 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class AppointmentListingQueryCountTest {
+
+    private static final int DOCTORS = 4;
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String patientToken;
+    private String doctorToken;
+    private Long patientId;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        Patient patient = fixtures.createPatient("listing.patient." + suffix + "@clinic.test");
+        patientId = patient.getId();
+        patientToken = fixtures.tokenFor(patient);
+
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(fixtures.createDoctor("listing.doctor" + i + "." + suffix + "@clinic.test", "Dermatology"));
+        }
+        doctorToken = fixtures.tokenFor(doctors.get(0));
+        LocalDateTime start = LocalDateTime.of(2032, 1, 12, 9, 0);
+        for (int i = 0; i < DOCTORS * 2; i++) {
+            fixtures.book(doctors.get(i % DOCTORS), patient, start.plusMinutes(15L * i));
+        }
+        // Requests resolve the principal from the cache; count only the listing itself
+        principalCache.resolve(patient.getEmail(), UserRole.PATIENT);
+        principalCache.resolve(doctors.get(0).getEmail(), UserRole.DOCTOR);
+    }
+
+    @Test
+    void patientListingIsOneStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/patient/appointments").header("Authorization", "Bearer " + patientToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(DOCTORS * 2))
+                .andExpect(jsonPath("$[0].doctor.name").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagedPatientListingIsOneStatementWhenFirstPageIsPartial() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/appointments/patient/" + patientId).header("Authorization", "Bearer " + patientToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(DOCTORS * 2))
+                .andExpect(jsonPath("$.content[0].doctor.speciality").value("Dermatology"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doctorListingIsOneStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/appointments/doctor").header("Authorization", "Bearer " + doctorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].patientId").value(patientId));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
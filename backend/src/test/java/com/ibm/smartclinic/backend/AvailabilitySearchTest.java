@@ -0,0 +1,206 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.smartclinic.backend.config.ExecutorConfig;
+import com.ibm.smartclinic.backend.dto.DoctorAvailabilityDto;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.DoctorRepository;
+import com.ibm.smartclinic.backend.security.TokenService;
+import com.ibm.smartclinic.backend.service.AvailabilitySearchService;
+import com.ibm.smartclinic.backend.service.AvailabilityService;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class AvailabilitySearchTest {
+
+    private static final LocalDate DAY = LocalDate.of(2037, 3, 2);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AvailabilitySearchService availabilitySearchService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void doctorsAreOrderedByTheirEarliestFreeSlot() {
+        Clinic clinic = seed("search.order");
+
+        List<DoctorAvailabilityDto> results = availabilitySearchService.search(
+                clinic.speciality(), DAY, DAY.plusDays(1), null, null, 2);
+
+        assertThat(results).extracting(DoctorAvailabilityDto::getDoctorId)
+                .containsExactly(clinic.early().getId(), clinic.afternoon().getId(), clinic.bookedOut().getId());
+        assertThat(results.get(0).getSlots()).containsExactly(DAY.atTime(9, 0), DAY.atTime(9, 15));
+        assertThat(results.get(1).getSlots()).containsExactly(DAY.atTime(14, 0), DAY.plusDays(1).atTime(14, 0));
+        assertThat(results.get(2).getSlots()).containsExactly(DAY.plusDays(1).atTime(8, 0));
+    }
+
+    @Test
+    void timeWindowIsHalfOpenAndDropsDoctorsWithoutSlots() {
+        Clinic clinic = seed("search.window");
+
+        List<DoctorAvailabilityDto> results = availabilitySearchService.search(
+                clinic.speciality(), DAY, DAY.plusDays(1), LocalTime.of(9, 10), LocalTime.of(14, 0), 3);
+
+        assertThat(results).extracting(DoctorAvailabilityDto::getDoctorId).containsExactly(clinic.early().getId());
+        assertThat(results.get(0).getSlots()).containsExactly(DAY.atTime(9, 15), DAY.plusDays(1).atTime(9, 15));
+    }
+
+    @Test
+    void invalidRangesLimitsAndWindowsAreRejected() throws Exception {
+        Clinic clinic = seed("search.invalid");
+        String token = "Bearer " + patientToken(clinic.patient());
+
+        List<String[]> invalid = List.of(
+                new String[] {DAY.toString(), DAY.minusDays(1).toString(), "3", "", ""},
+                new String[] {DAY.toString(), DAY.plusDays(31).toString(), "3", "", ""},
+                new String[] {DAY.toString(), DAY.toString(), "0", "", ""},
+                new String[] {DAY.toString(), DAY.toString(), "21", "", ""},
+                new String[] {DAY.toString(), DAY.toString(), "3", "12:00", "09:00"});
+        for (String[] params : invalid) {
+            mockMvc.perform(get("/api/doctors/availability/search")
+                            .param("speciality", clinic.speciality())
+                            .param("from", params[0]).param("to", params[1]).param("limit", params[2])
+                            .param("startTime", params[3]).param("endTime", params[4])
+                            .header("Authorization", token))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+        }
+
+        mockMvc.perform(get("/api/doctors/availability/search")
+                        .param("speciality", clinic.speciality())
+                        .param("from", DAY.toString()).param("to", DAY.plusDays(30).toString())
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void ndjsonStreamDeliversOneLinePerDoctorWithSlots() throws Exception {
+        Clinic clinic = seed("search.stream");
+
+        MvcResult pending = mockMvc.perform(get("/api/doctors/availability/search")
+                        .param("speciality", clinic.speciality())
+                        .param("from", DAY.toString()).param("to", DAY.plusDays(1).toString())
+                        .param("startTime", "08:00").param("endTime", "10:00")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header("Authorization", "Bearer " + patientToken(clinic.patient())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<DoctorAvailabilityDto> lines = Arrays.stream(body.split("\n"))
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, DoctorAvailabilityDto.class);
+                    } catch (Exception e) {
+                        throw new AssertionError("Not a JSON line: " + line, e);
+                    }
+                })
+                .toList();
+        assertThat(lines).extracting(DoctorAvailabilityDto::getDoctorId)
+                .containsExactlyInAnyOrder(clinic.early().getId(), clinic.bookedOut().getId());
+    }
+
+    @Test
+    void saturatedExecutorRunsEvaluationOnTheCallingThread() throws Exception {
+        Clinic clinic = seed("search.saturated");
+        ThreadPoolTaskExecutor executor = new ExecutorConfig().availabilitySearchExecutor(1, 0);
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Occupy the only worker; with no queue every evaluation is handed back to the caller
+            executor.execute(() -> {
+                try {
+                    release.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            AvailabilitySearchService saturated =
+                    new AvailabilitySearchService(doctorRepository, availabilityService, executor);
+
+            List<DoctorAvailabilityDto> results = saturated.search(clinic.speciality(), DAY, DAY.plusDays(1), null, null, 1);
+
+            assertThat(executor.getActiveCount()).isEqualTo(1);
+            assertThat(results).extracting(DoctorAvailabilityDto::getDoctorId)
+                    .containsExactly(clinic.early().getId(), clinic.afternoon().getId(), clinic.bookedOut().getId());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Three doctors of a speciality unique to the test: one free at 09:00 and 09:15, one at 14:00,
+     * and one whose only slot, 08:00, is already booked on the first day.
+     */
+    private Clinic seed(String prefix) {
+        String suffix = String.valueOf(System.nanoTime());
+        String speciality = "Speciality " + prefix + "." + suffix;
+        Doctor early = fixtures.createDoctor(prefix + ".early." + suffix + "@clinic.test", speciality,
+                List.of(LocalTime.of(9, 0), LocalTime.of(9, 15)));
+        Doctor afternoon = fixtures.createDoctor(prefix + ".afternoon." + suffix + "@clinic.test", speciality,
+                List.of(LocalTime.of(14, 0)));
+        Doctor bookedOut = fixtures.createDoctor(prefix + ".booked." + suffix + "@clinic.test", speciality,
+                List.of(LocalTime.of(8, 0)));
+        Patient patient = fixtures.createPatient(prefix + ".patient." + suffix + "@clinic.test");
+        fixtures.book(bookedOut, patient, DAY.atTime(8, 0));
+        return new Clinic(speciality, early, afternoon, bookedOut, patient);
+    }
+
+    private String patientToken(Patient patient) {
+        return tokenService.generateToken(patient.getEmail(), UserRole.PATIENT.name(), null, patient.getId());
+    }
+
+    private record Clinic(String speciality, Doctor early, Doctor afternoon, Doctor bookedOut, Patient patient) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Boots the native executable with the persistent profile against a file H2 database, runs the
+ * Flyway migrations, registers and logs in a patient, then restarts the binary and logs in again to
+ * show the data survived. Runs under failsafe with {@code mvn -Pnative verify}, which passes the
+ * binary location as {@code native.binary}; startup time and RSS of both boots are printed for
+ * comparison with {@code StartupProbe} runs of the JVM jar.
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+class BackendNativeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dataDir;
+
+    /** Actuator listens here; the health probe polls it like an orchestrator would. */
+    private int managementPort;
+
+    @Test
+    void migratesServesAndPersistsAcrossRestarts() throws Exception {
+        int port = freePort();
+        managementPort = freePort();
+        String body = "{\"email\":\"native.it@clinic.test\",\"password\":\"native-secret\"}";
+
+        Process first = start(port, "migrate and register");
+        try {
+            HttpResponse<String> registered = post(port, "/api/patient/register",
+                    "{\"name\":\"Native Patient\",\"email\":\"native.it@clinic.test\",\"phone\":\"5550100\","
+                            + "\"password\":\"native-secret\"}");
+            assertThat(registered.statusCode()).isEqualTo(201);
+
+            String token = objectMapper.readTree(post(port, "/api/patient/login", body).body()).get("token").asText();
+            HttpResponse<String> appointments = client.send(HttpRequest.newBuilder(uri(port, "/api/patient/appointments"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Accept", "application/json")
+                    .GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(appointments.statusCode()).isEqualTo(200);
+        } finally {
+            stop(first);
+        }
+
+        Process second = start(port, "restart on existing database");
+        try {
+            assertThat(post(port, "/api/patient/login", body).statusCode()).isEqualTo(200);
+        } finally {
+            stop(second);
+        }
+        assertThat(Files.list(dataDir).map(Path::toString).toList()).anyMatch(name -> name.endsWith(".mv.db"));
+    }
+
+    private Process start(int port, String label) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(List.of(System.getProperty("native.binary"),
+                "--spring.profiles.active=persistent",
+                "--spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("smartclinic") + ";DB_CLOSE_ON_EXIT=FALSE",
+                "--server.port=" + port,
+                "--management.server.port=" + managementPort))
+                .redirectErrorStream(true)
+                .redirectOutput(dataDir.resolve("native-" + port + ".log").toFile())
+                .start();
+        long deadline = started + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive()).as("native binary exited, see %s", dataDir).isTrue();
+            try {
+                HttpResponse<String> health = client.send(HttpRequest.newBuilder(uri(managementPort, "/actuator/health")).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (health.statusCode() == 200 && health.body().contains("UP")) {
+                    System.out.printf("native %s: healthy after %d ms, RSS %d MB%n", label,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), rssKb(process.pid()) / 1024);
+                    return process;
+                }
+            } catch (IOException notListeningYet) {
+                // retry until the connector accepts
+            }
+            Thread.sleep(5);
+        }
+        stop(process);
+        throw new IllegalStateException("Native binary not healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private HttpResponse<String> post(int port, String path, String json) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(port, path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux, or the process is gone
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.service.IdentityService;
+import com.ibm.smartclinic.backend.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datagen_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "datagen.doctors=20",
+        "datagen.patients=300",
+        "datagen.appointments=6000",
+        "datagen.prescriptions=1500",
+        "datagen.end-date=2030-06-28",
+        "datagen.future-days=7",
+        "datagen.batch-size=500",
+        "datagen.exit=false"
+})
+@ActiveProfiles({"test", "datagen"})
+class ClinicDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void generatesRequestedVolumesOnWorkingSlots() {
+        assertThat(count("SELECT COUNT(*) FROM doctor WHERE email LIKE 'gen.doctor%'")).isEqualTo(20);
+        assertThat(count("SELECT COUNT(*) FROM patient WHERE email LIKE 'gen.patient%'")).isEqualTo(300);
+        long appointments = count("SELECT COUNT(*) FROM appointment");
+        assertThat(appointments).isBetween(4_800L, 7_200L);
+        assertThat(count("SELECT COUNT(*) FROM prescription")).isBetween(1_050L, 1_950L);
+
+        // Every appointment sits on one of its doctor's working slots, on a weekday
+        assertThat(count("SELECT COUNT(*) FROM appointment a WHERE NOT EXISTS (SELECT 1 FROM doctor_available_times t "
+                + "WHERE t.doctor_id = a.doctor_id AND t.available_times = CAST(a.appointment_time AS TIME))")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM appointment WHERE ISO_DAY_OF_WEEK(appointment_time) > 5")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM appointment WHERE appointment_time >= TIMESTAMP '2030-06-21 00:00:00' "
+                + "AND status = 'COMPLETED'")).isZero();
+
+        // Report tables were rebuilt from the generated rows
+        assertThat(count("SELECT COALESCE(SUM(booked + completed + cancelled), 0) FROM appointment_daily_rollup"))
+                .isEqualTo(appointments);
+    }
+
+    @Test
+    void entitiesSavedAfterGenerationGetFreshIds() {
+        String email = "after.datagen." + System.nanoTime() + "@clinic.test";
+        identityService.registerIdentity(email, "password", UserRole.PATIENT);
+        Patient patient = new Patient();
+        patient.setName("After Datagen");
+        patient.setEmail(email);
+
+        assertThat(patientService.savePatient(patient).getId())
+                .isGreaterThan(count("SELECT MAX(id) FROM patient WHERE email LIKE 'gen.patient%'"));
+    }
+
+    private long count(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value != null ? value : 0;
+    }
+}
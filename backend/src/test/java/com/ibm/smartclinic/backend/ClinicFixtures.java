@@ -0,0 +1,108 @@
+package com.ibm.smartclinic.backend;
+
+import com.ibm.smartclinic.backend.dto.AppointmentRequestDto;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.UserIdentityRepository;
+import com.ibm.smartclinic.backend.security.TokenService;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.DoctorService;
+import com.ibm.smartclinic.backend.service.IdentityService;
+import com.ibm.smartclinic.backend.service.PatientService;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import org.springframework.boot.test.context.TestComponent;
+
+/**
+ * Doctors, patients and bookings for tests that go through the services. Pull it in with
+ * {@code @Import(ClinicFixtures.class)}; every account gets the password {@code password}.
+ */
+@TestComponent
+class ClinicFixtures {
+
+    static final String PASSWORD = "password";
+
+    private final IdentityService identityService;
+    private final DoctorService doctorService;
+    private final PatientService patientService;
+    private final AppointmentService appointmentService;
+    private final UserIdentityRepository userIdentityRepository;
+    private final TokenService tokenService;
+
+    ClinicFixtures(IdentityService identityService, DoctorService doctorService,
+                   PatientService patientService, AppointmentService appointmentService,
+                   UserIdentityRepository userIdentityRepository, TokenService tokenService) {
+        this.identityService = identityService;
+        this.doctorService = doctorService;
+        this.patientService = patientService;
+        this.appointmentService = appointmentService;
+        this.userIdentityRepository = userIdentityRepository;
+        this.tokenService = tokenService;
+    }
+
+    Doctor createDoctor(String email, String speciality) {
+        return createDoctor(email, speciality, null);
+    }
+
+    /**
+     * A doctor working at {@code availableTimes}, or the default hours when null.
+     */
+    Doctor createDoctor(String email, String speciality, List<LocalTime> availableTimes) {
+        identityService.registerIdentity(email, PASSWORD, UserRole.DOCTOR);
+        Doctor doctor = new Doctor();
+        doctor.setName("Dr " + email);
+        doctor.setEmail(email);
+        doctor.setSpeciality(speciality);
+        doctor.setAvailableTimes(availableTimes);
+        return doctorService.saveDoctor(doctor);
+    }
+
+    Patient createPatient(String email) {
+        identityService.registerIdentity(email, PASSWORD, UserRole.PATIENT);
+        Patient patient = new Patient();
+        patient.setName("Patient " + email);
+        patient.setEmail(email);
+        return patientService.savePatient(patient);
+    }
+
+    Appointment book(Doctor doctor, Patient patient, LocalDateTime time) {
+        return appointmentService.bookAppointment(newAppointment(doctor, patient, time));
+    }
+
+    /**
+     * A token as login issues it, carrying the identity and profile ids.
+     */
+    String tokenFor(Doctor doctor) {
+        return token(doctor.getEmail(), UserRole.DOCTOR, doctor.getId());
+    }
+
+    String tokenFor(Patient patient) {
+        return token(patient.getEmail(), UserRole.PATIENT, patient.getId());
+    }
+
+    private String token(String email, UserRole role, Long entityId) {
+        Long identityId = userIdentityRepository.findByEmailAndRole(email, role).orElseThrow().getId();
+        return tokenService.generateToken(email, role.name(), identityId, entityId);
+    }
+
+    static Appointment newAppointment(Doctor doctor, Patient patient, LocalDateTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentTime(time);
+        return appointment;
+    }
+
+    /**
+     * One item of a batch booking request.
+     */
+    static AppointmentRequestDto booking(Doctor doctor, LocalDateTime time) {
+        AppointmentRequestDto request = new AppointmentRequestDto();
+        request.setDoctorId(doctor.getId());
+        request.setAppointmentTime(time);
+        return request;
+    }
+}
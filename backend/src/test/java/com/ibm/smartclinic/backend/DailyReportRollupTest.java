@@ -0,0 +1,190 @@
+package com.ibm.smartclinic.backend;
+
+import static com.ibm.smartclinic.backend.ClinicFixtures.booking;
+import static com.ibm.smartclinic.backend.ClinicFixtures.newAppointment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ibm.smartclinic.backend.dto.AppointmentTransitionDto;
+import com.ibm.smartclinic.backend.dto.DailyReportDto;
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.TokenService;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.ReportService;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class DailyReportRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2034, 2, 6);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void countersFollowBookingsAndTransitionsAndSurviveARebuild() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = fixtures.createDoctor("report.doctor." + suffix + "@clinic.test", "Dermatology");
+        Patient patient = fixtures.createPatient("report.patient." + suffix + "@clinic.test");
+
+        Appointment first = appointmentService.bookAppointment(newAppointment(doctor, patient, DAY.atTime(9, 0)));
+        Appointment second = appointmentService.bookAppointment(newAppointment(doctor, patient, DAY.atTime(9, 15)));
+        appointmentService.bookAppointments(patient, List.of(
+                booking(doctor, DAY.atTime(10, 0)),
+                booking(doctor, DAY.atTime(10, 15)),
+                booking(doctor, DAY.plusDays(1).atTime(10, 0))));
+        appointmentService.completeAppointment(first.getId(), doctor);
+        appointmentService.transitionAppointments(doctor, List.of(
+                new AppointmentTransitionDto(second.getId(), AppointmentStatus.CANCELLED)));
+
+        assertCounters(reportFor(doctor, DAY), 2, 1, 1);
+        assertCounters(reportFor(doctor, DAY.plusDays(1)), 1, 0, 0);
+        assertThat(reportService.getDoctorReport(doctor.getId(), DAY.minusDays(7), DAY.plusDays(7)))
+                .extracting(DailyReportDto::getDate)
+                .containsExactly(DAY, DAY.plusDays(1));
+
+        jdbcTemplate.update("UPDATE appointment_daily_rollup SET booked = 0, completed = 0, cancelled = 0 WHERE doctor_id = ?",
+                doctor.getId());
+        ResponseEntity<String> rebuilt = rebuild(managementPort, DAY.toString(), DAY.plusDays(1).toString());
+        assertThat(rebuilt.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(rebuilt.getBody()).contains("\"rows\"");
+
+        assertCounters(reportFor(doctor, DAY), 2, 1, 1);
+        assertCounters(reportFor(doctor, DAY.plusDays(1)), 1, 0, 0);
+
+        mockMvc.perform(get("/api/reports/daily").param("date", DAY.toString())
+                        .header("Authorization", "Bearer " + tokenService.generateToken(
+                                patient.getEmail(), UserRole.PATIENT.name(), null, patient.getId())))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/reports/doctors/{id}/daily", doctor.getId())
+                        .param("from", DAY.toString()).param("to", DAY.toString())
+                        .header("Authorization", "Bearer " + tokenService.generateToken(
+                                doctor.getEmail(), UserRole.DOCTOR.name(), null, doctor.getId())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void reportRangeIsBounded() {
+        assertThatThrownBy(() -> reportService.getDoctorReport(1L, DAY, DAY.plusYears(2)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> reportService.rebuild(DAY, DAY.minusDays(1)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void rebuildIsAnOperatorTriggerOnTheManagementPort() {
+        Doctor doctor = fixtures.createDoctor("rebuild.doctor." + System.nanoTime() + "@clinic.test", "Dermatology");
+        HttpHeaders doctorToken = new HttpHeaders();
+        doctorToken.setBearerAuth(tokenService.generateToken(doctor.getEmail(), UserRole.DOCTOR.name(), null, doctor.getId()));
+
+        doctorToken.setContentType(MediaType.APPLICATION_JSON);
+        assertThat(restTemplate.exchange(url(port, "/actuator/reports"), HttpMethod.POST,
+                new HttpEntity<>(range(DAY.toString(), DAY.toString()), doctorToken), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(rebuild(managementPort, DAY.toString(), DAY.toString()).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(rebuild(managementPort, "06/02/2034", DAY.toString()).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(rebuild(managementPort, DAY.toString(), DAY.minusDays(1).toString()).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void malformedDatesAreRejectedAsValidationErrors() throws Exception {
+        Doctor doctor = fixtures.createDoctor("report.dates." + System.nanoTime() + "@clinic.test", "Dermatology");
+        String token = "Bearer " + tokenService.generateToken(doctor.getEmail(), UserRole.DOCTOR.name(), null, doctor.getId());
+
+        mockMvc.perform(get("/api/reports/daily").param("date", "2034-02-30").header("Authorization", token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+        mockMvc.perform(get("/api/reports/doctors/{id}/daily", doctor.getId())
+                        .param("from", DAY.toString()).param("to", "tomorrow").header("Authorization", token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+        mockMvc.perform(get("/api/reports/top-doctors").param("month", "2034-13").header("Authorization", token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+        mockMvc.perform(get("/api/reports/top-doctors").param("year", "20x4").header("Authorization", token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+    }
+
+    private ResponseEntity<String> rebuild(int port, String from, String to) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity(url(port, "/actuator/reports"), new HttpEntity<>(range(from, to), headers), String.class);
+    }
+
+    private static String range(String from, String to) {
+        return "{\"from\":\"" + from + "\",\"to\":\"" + to + "\"}";
+    }
+
+    private static String url(int port, String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    private DailyReportDto reportFor(Doctor doctor, LocalDate day) {
+        return reportService.getDailyReport(day).stream()
+                .filter(row -> row.getDoctorId().equals(doctor.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void assertCounters(DailyReportDto row, int booked, int completed, int cancelled) {
+        assertThat(row.getBooked()).isEqualTo(booked);
+        assertThat(row.getCompleted()).isEqualTo(completed);
+        assertThat(row.getCancelled()).isEqualTo(cancelled);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.smartclinic.backend.config.DataLoader;
+import com.ibm.smartclinic.backend.config.DataLoader.SeedDoctor;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.DoctorRepository;
+import com.ibm.smartclinic.backend.service.IdentityService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dataloader_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "dev.seed.async=false",
+        "dev.seed.batch-size=40"
+})
+@ActiveProfiles({"test", "dev"})
+class DataLoaderTest {
+
+    @Autowired
+    private DataLoader dataLoader;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void seedsDevDoctorsOnStartupAndIsIdempotent() {
+        Doctor john = doctorRepository.findByEmail("john@clinic.com").orElseThrow();
+        assertThat(john.getSpeciality()).isEqualTo("Cardiology");
+        assertThat(passwordEncoder.matches("password", john.getPassword())).isTrue();
+        assertThat(identityService.authenticate("alice@clinic.com", "password", UserRole.DOCTOR).getRole())
+                .isEqualTo(UserRole.DOCTOR);
+
+        List<SeedDoctor> same = List.of(
+                new SeedDoctor("Dr John Smith", "john@clinic.com", "Cardiology", "password"),
+                new SeedDoctor("Dr Alice Brown", "alice@clinic.com", "Dermatology", "password"));
+        assertThat(dataLoader.seed(same)).isZero();
+        assertThat(dataLoader.seed(List.of(new SeedDoctor("Dr John Smith", "john@clinic.com", "Neurology", "password"))))
+                .isEqualTo(1);
+        assertThat(doctorRepository.findByEmail("john@clinic.com").orElseThrow().getSpeciality()).isEqualTo("Neurology");
+    }
+
+    @Test
+    void batchedSeedsTakeIdsClearOfHibernateAllocations() {
+        String prefix = "seed" + System.nanoTime();
+        List<SeedDoctor> seeds = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            seeds.add(new SeedDoctor("Dr Seed " + i, prefix + "." + i + "@clinic.test", "Pediatrics", "secret"));
+        }
+
+        assertThat(dataLoader.seed(seeds)).isEqualTo(120);
+
+        Doctor saved = new Doctor();
+        saved.setName("Dr After Seed");
+        saved.setEmail(prefix + ".after@clinic.test");
+        identityService.registerIdentity(saved.getEmail(), "password", UserRole.DOCTOR);
+        saved.setSpeciality("Pediatrics");
+        Long id = doctorRepository.save(saved).getId();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM doctor WHERE id = ?", Long.class, id)).isEqualTo(1);
+        // One hash per distinct password, shared by all seeded rows
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT password) FROM doctor WHERE email LIKE ?",
+                Long.class, prefix + ".%@clinic.test")).isEqualTo(1);
+        assertThat(identityService.authenticate(prefix + ".119@clinic.test", "secret", UserRole.DOCTOR)).isNotNull();
+    }
+}
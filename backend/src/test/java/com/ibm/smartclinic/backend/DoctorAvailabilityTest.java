@@ -0,0 +1,80 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.DoctorService;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class DoctorAvailabilityTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 5, 5);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Test
+    void availabilityFollowsWorkingTimesAndBookings() {
+        Doctor doctor = fixtures.createDoctor("availability.doctor@clinic.test", "Neurology",
+                List.of(LocalTime.of(9, 0), LocalTime.of(9, 15), LocalTime.of(16, 45)));
+        Patient patient = fixtures.createPatient("availability.patient@clinic.test");
+
+        assertThat(doctorService.getAvailableTimeSlots(doctor.getId(), DAY))
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 15), LocalTime.of(16, 45));
+
+        Appointment booked = fixtures.book(doctor, patient, DAY.atTime(16, 45));
+
+        assertThat(doctorService.getAvailableTimeSlots(doctor.getId(), DAY))
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 15));
+
+        appointmentService.cancelAppointment(booked.getId(), doctor);
+
+        assertThat(doctorService.getAvailableTimeSlots(doctor.getId(), DAY))
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 15), LocalTime.of(16, 45));
+    }
+
+    @Test
+    void editedWorkingTimesReplaceTheCachedCalendar() {
+        Doctor doctor = fixtures.createDoctor("availability.edit.doctor@clinic.test", "Neurology",
+                List.of(LocalTime.of(9, 0)));
+        assertThat(doctorService.getAvailableTimeSlots(doctor.getId(), DAY)).containsExactly(LocalTime.of(9, 0));
+
+        doctor.setAvailableTimes(List.of(LocalTime.of(13, 0), LocalTime.of(13, 30)));
+        doctorService.saveDoctor(doctor);
+
+        assertThat(doctorService.getAvailableTimeSlots(doctor.getId(), DAY))
+                .containsExactly(LocalTime.of(13, 0), LocalTime.of(13, 30));
+    }
+
+    @Test
+    void weekViewCoversSevenDaysAndDefaultsWorkingTimes() {
+        Doctor doctor = fixtures.createDoctor("week.doctor@clinic.test", "Neurology", List.of());
+
+        Map<LocalDate, List<LocalTime>> week = doctorService.getWeeklyAvailability(doctor.getId(), DAY);
+
+        assertThat(week).hasSize(7);
+        assertThat(week.keySet()).first().isEqualTo(DAY);
+        assertThat(week.get(DAY.plusDays(6)))
+                .containsExactly(LocalTime.of(10, 0), LocalTime.of(11, 0), LocalTime.of(14, 0));
+    }
+}
@@ -0,0 +1,57 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.repository.AppointmentRepository;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class DoctorCalendarRangeTest {
+
+    private static final LocalDate DAY = LocalDate.of(2032, 1, 14);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void dayRangeIncludesItsMidnightAndExcludesTheNextOne() {
+        Doctor doctor = fixtures.createDoctor("calendar.range.doctor@clinic.test", "Cardiology");
+        Patient patient = fixtures.createPatient("calendar.range.patient@clinic.test");
+        fixtures.book(doctor, patient, DAY.minusDays(1).atTime(23, 45));
+        Appointment atStart = fixtures.book(doctor, patient, DAY.atStartOfDay());
+        Appointment lastSlot = fixtures.book(doctor, patient, DAY.atTime(23, 45));
+        Appointment nextMidnight = fixtures.book(doctor, patient, DAY.plusDays(1).atStartOfDay());
+
+        assertThat(appointmentService.getAppointmentsForDoctorOnDate(doctor.getId(), DAY))
+                .extracting(Appointment::getId)
+                .containsExactly(atStart.getId(), lastSlot.getId());
+        assertThat(appointmentService.getAppointmentsForDoctorOnDate(doctor.getId(), DAY.plusDays(1)))
+                .extracting(Appointment::getId)
+                .containsExactly(nextMidnight.getId());
+
+        LocalDateTime end = DAY.plusDays(1).atStartOfDay();
+        assertThat(appointmentRepository.findByDoctorIdAndTimeRange(doctor.getId(), DAY.atStartOfDay(), end))
+                .extracting(Appointment::getAppointmentTime)
+                .containsExactly(DAY.atStartOfDay(), DAY.atTime(LocalTime.of(23, 45)))
+                .doesNotContain(end);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ibm.smartclinic.backend;
+
+import static com.ibm.smartclinic.backend.ClinicFixtures.booking;
+import static com.ibm.smartclinic.backend.ClinicFixtures.newAppointment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.ibm.smartclinic.backend.dto.DoctorPatientCountDto;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.HyperLogLog;
+import com.ibm.smartclinic.backend.service.LeaderboardService;
+import com.ibm.smartclinic.backend.service.ReportService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class DoctorLeaderboardTest {
+
+    private static final LocalDate MONTH_START = LocalDate.of(2035, 4, 1);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sketchedLeaderboardMatchesExactRecountWithinErrorBound() {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor busy = fixtures.createDoctor("leaderboard.busy." + suffix + "@clinic.test", "Oncology");
+        Doctor quiet = fixtures.createDoctor("leaderboard.quiet." + suffix + "@clinic.test", "Oncology");
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            patients.add(fixtures.createPatient("leaderboard.patient" + i + "." + suffix + "@clinic.test"));
+        }
+
+        // Every patient sees the busy doctor on three different days; only four see the quiet one
+        for (int day = 0; day < 3; day++) {
+            for (int i = 0; i < patients.size(); i++) {
+                LocalDateTime time = MONTH_START.plusDays(day * 7L).atTime(8, 0).plusMinutes(15L * i);
+                appointmentService.bookAppointment(newAppointment(busy, patients.get(i), time));
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            appointmentService.bookAppointments(patients.get(i), List.of(
+                    booking(quiet, MONTH_START.plusDays(2).atTime(9, 0).plusMinutes(15L * i)),
+                    booking(quiet, MONTH_START.plusDays(9).atTime(9, 0).plusMinutes(15L * i))));
+        }
+
+        LocalDate monthEnd = MONTH_START.plusMonths(1).minusDays(1);
+        Map<Long, DoctorPatientCountDto> estimated = byDoctor(leaderboardService.topDoctors(MONTH_START, monthEnd, 100, false));
+        Map<Long, DoctorPatientCountDto> exact = byDoctor(leaderboardService.topDoctors(MONTH_START, monthEnd, 100, true));
+
+        assertThat(exact.get(busy.getId()).getPatients()).isEqualTo(12);
+        assertThat(exact.get(quiet.getId()).getPatients()).isEqualTo(4);
+        assertThat(exact.get(busy.getId()).isExact()).isTrue();
+        for (Doctor doctor : List.of(busy, quiet)) {
+            DoctorPatientCountDto estimate = estimated.get(doctor.getId());
+            long truth = exact.get(doctor.getId()).getPatients();
+            assertThat(estimate.isExact()).isFalse();
+            assertThat(estimate.getDoctorName()).isEqualTo(doctor.getName());
+            assertThat((double) estimate.getPatients())
+                    .isCloseTo(truth, within(Math.max(1.0, truth * 3 * HyperLogLog.STANDARD_ERROR)));
+        }
+        assertThat(estimated.get(busy.getId()).getPatients()).isGreaterThan(estimated.get(quiet.getId()).getPatients());
+
+        List<byte[]> incremental = sketchesOf(busy);
+        reportService.rebuild(MONTH_START, monthEnd);
+        assertThat(sketchesOf(busy)).containsExactlyElementsOf(incremental);
+    }
+
+    private List<byte[]> sketchesOf(Doctor doctor) {
+        return jdbcTemplate.query(
+                "SELECT registers FROM doctor_patient_sketch WHERE doctor_id = ? ORDER BY report_date",
+                (rs, rowNum) -> rs.getBytes(1), doctor.getId());
+    }
+
+    private Map<Long, DoctorPatientCountDto> byDoctor(List<DoctorPatientCountDto> rows) {
+        return rows.stream().collect(Collectors.toMap(DoctorPatientCountDto::getDoctorId, Function.identity()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.smartclinic.backend.config.FlywayValidationMarker;
+import java.sql.Timestamp;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.exception.FlywayValidateException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fast_start_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "fast-start.flyway.deferred-validation=false"
+})
+@ActiveProfiles({"test", "fast-start"})
+class FlywayValidationMarkerTest {
+
+    @Autowired
+    private FlywayValidationMarker migrationStrategy;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void skipsFlywayWhileMarkerMatchesAndValidatesOnceHistoryChanges() {
+        Timestamp recorded = markerTime();
+        assertThat(recorded).isNotNull();
+
+        // Unchanged scripts and history: nothing runs and the marker is left alone
+        migrationStrategy.migrate(flyway);
+        assertThat(markerTime()).isEqualTo(recorded);
+
+        // A tampered history entry no longer matches, so the migrate validates and fails
+        jdbcTemplate.update("UPDATE \"flyway_schema_history\" SET \"checksum\" = \"checksum\" + 1 WHERE \"version\" = '1'");
+        try {
+            assertThatThrownBy(() -> migrationStrategy.migrate(flyway)).isInstanceOf(FlywayValidateException.class);
+        } finally {
+            jdbcTemplate.update("UPDATE \"flyway_schema_history\" SET \"checksum\" = \"checksum\" - 1 WHERE \"version\" = '1'");
+        }
+        migrationStrategy.migrate(flyway);
+        assertThat(markerTime()).isNotNull();
+    }
+
+    private Timestamp markerTime() {
+        return jdbcTemplate.queryForObject("SELECT validated_at FROM schema_validation_marker WHERE id = 1", Timestamp.class);
+    }
+}
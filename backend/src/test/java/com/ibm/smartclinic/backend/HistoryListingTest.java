@@ -0,0 +1,91 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class HistoryListingTest {
+
+    private static final int APPOINTMENTS = 5;
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void jsonListingIsPagedNewestFirst() throws Exception {
+        String token = seedHistory("history.page");
+
+        mockMvc.perform(get("/api/appointments/doctor").param("size", "2")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Origin", "http://localhost:5173"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(header().string("Access-Control-Expose-Headers", "X-Has-Next"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].appointmentTime").value("2032-01-05T09:00:00"));
+
+        mockMvc.perform(get("/api/appointments/doctor").param("size", "2").param("page", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-Next", "false"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].appointmentTime").value("2032-01-01T09:00:00"));
+    }
+
+    @Test
+    void ndjsonStreamsTheFullHistory() throws Exception {
+        String token = seedHistory("history.stream");
+
+        MvcResult pending = mockMvc.perform(get("/api/appointments/doctor")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = Arrays.stream(body.split("\n")).filter(line -> !line.isBlank()).toList();
+        assertThat(lines).hasSize(APPOINTMENTS);
+        assertThat(lines.get(0)).contains("\"appointmentTime\":\"2032-01-05T09:00:00\"");
+        assertThat(lines.get(APPOINTMENTS - 1)).contains("\"appointmentTime\":\"2032-01-01T09:00:00\"");
+    }
+
+    private String seedHistory(String prefix) {
+        Doctor doctor = fixtures.createDoctor(prefix + ".doctor@clinic.test", "Dermatology");
+        Patient patient = fixtures.createPatient(prefix + ".patient@clinic.test");
+        for (int day = 1; day <= APPOINTMENTS; day++) {
+            fixtures.book(doctor, patient, LocalDateTime.of(2032, 1, day, 9, 0));
+        }
+        return fixtures.tokenFor(doctor);
+    }
+}
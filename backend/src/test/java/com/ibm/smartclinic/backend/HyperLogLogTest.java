@@ -0,0 +1,86 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.ibm.smartclinic.backend.service.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    private static final double THREE_SIGMA = 3 * HyperLogLog.STANDARD_ERROR;
+
+    @Test
+    void estimatesStayWithinThreeStandardErrors() {
+        for (int distinct : new int[] {1, 10, 100, 1_000, 5_000, 20_000, 100_000, 500_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (long id = 1; id <= distinct; id++) {
+                sketch.add(id);
+                sketch.add(id);
+            }
+            assertThat((double) sketch.estimate())
+                    .as("estimate for %d distinct values", distinct)
+                    .isCloseTo(distinct, within(Math.max(1.0, distinct * THREE_SIGMA)));
+        }
+    }
+
+    @Test
+    void smallCountsUseLinearCountingAndAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 200; id++) {
+            sketch.add(id);
+        }
+        assertThat((double) sketch.estimate()).isCloseTo(200, within(200 * 0.02));
+    }
+
+    @Test
+    void mergingDailySketchesEqualsSketchingTheWholePeriod() {
+        HyperLogLog period = new HyperLogLog();
+        HyperLogLog merged = new HyperLogLog();
+        for (int day = 0; day < 30; day++) {
+            HyperLogLog daily = new HyperLogLog();
+            for (long patient = day * 40L; patient < day * 40L + 100; patient++) {
+                daily.add(patient);
+                period.add(patient);
+            }
+            merged.merge(HyperLogLog.fromBytes(daily.toBytes()));
+        }
+
+        assertThat(merged).isEqualTo(period);
+        assertThat((double) merged.estimate()).isCloseTo(29 * 40 + 100, within((29 * 40 + 100) * THREE_SIGMA));
+    }
+
+    @Test
+    void smallSketchesSerializeSparselyAndLargeOnesDensely() {
+        HyperLogLog small = new HyperLogLog();
+        for (long id = 1; id <= 30; id++) {
+            small.add(id);
+        }
+        byte[] sparse = small.toBytes();
+        assertThat(sparse.length).isLessThanOrEqualTo(60).isEven();
+        assertThat(HyperLogLog.fromBytes(sparse)).isEqualTo(small);
+        assertThat(HyperLogLog.fromBytes(new HyperLogLog().toBytes())).isEqualTo(new HyperLogLog());
+
+        HyperLogLog large = new HyperLogLog();
+        for (long id = 1; id <= 5_000; id++) {
+            large.add(id);
+        }
+        assertThat(large.toBytes()).hasSize(HyperLogLog.REGISTERS);
+        assertThat(HyperLogLog.fromBytes(large.toBytes())).isEqualTo(large);
+    }
+
+    @Test
+    void denseRegistersWrittenBeforeTheSparseFormStillRead() {
+        byte[] dense = new byte[HyperLogLog.REGISTERS];
+        dense[3] = 2;
+        dense[700] = 5;
+        HyperLogLog sketch = HyperLogLog.fromBytes(dense);
+
+        assertThat(sketch.toBytes()).hasSize(4);
+        assertThat(HyperLogLog.fromBytes(sketch.toBytes())).isEqualTo(sketch);
+        HyperLogLog merged = new HyperLogLog();
+        merged.merge(sketch.toBytes());
+        merged.merge(dense);
+        assertThat(merged).isEqualTo(sketch);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.smartclinic.backend.dto.AppointmentResponseDto;
+import com.ibm.smartclinic.backend.dto.CursorPage;
+import com.ibm.smartclinic.backend.dto.DoctorResponseDto;
+import com.ibm.smartclinic.backend.exception.ValidationException;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.DoctorService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class KeysetPaginationTest {
+
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2033, 2, 7, 8, 0);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Test
+    void appointmentPagesStayStableWhileRowsAreInserted() {
+        Doctor doctor = fixtures.createDoctor("keyset.doctor@clinic.test", "Oncology");
+        Patient patient = fixtures.createPatient("keyset.patient@clinic.test");
+        for (int i = 0; i < 25; i++) {
+            fixtures.book(doctor, patient, FIRST_SLOT.plusMinutes(15L * i));
+        }
+
+        CursorPage<AppointmentResponseDto> first = appointmentService.scrollAppointmentsByPatientId(patient.getId(), null, 10, true);
+        assertThat(first.getItems()).hasSize(10);
+        assertThat(first.getTotal()).isEqualTo(25);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        // Rows landing before the cursor must not shift the following pages
+        fixtures.book(doctor, patient, FIRST_SLOT.minusDays(1));
+
+        List<Long> seen = new ArrayList<>(first.getItems().stream().map(AppointmentResponseDto::getId).toList());
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            CursorPage<AppointmentResponseDto> page = appointmentService.scrollAppointmentsByPatientId(patient.getId(), cursor, 10, false);
+            assertThat(page.getTotal()).isNull();
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+        }
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void doctorScrollVisitsEveryDoctorOnce() {
+        for (int i = 0; i < 3; i++) {
+            fixtures.createDoctor("keyset.scroll" + i + "@clinic.test", "Oncology");
+        }
+        Set<Long> ids = new HashSet<>();
+        String cursor = null;
+        do {
+            CursorPage<DoctorResponseDto> page = doctorService.scrollDoctors(cursor, 2, false);
+            page.getItems().forEach(item -> assertThat(ids.add(item.getId())).isTrue());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(ids).hasSizeGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> doctorService.scrollDoctors("not a cursor!", 10, false))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> doctorService.scrollDoctors(null, 0, false))
+                .isInstanceOf(ValidationException.class);
+    }
+}
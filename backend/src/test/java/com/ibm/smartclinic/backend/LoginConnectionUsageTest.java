@@ -0,0 +1,99 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.UserIdentityRepository;
+import com.ibm.smartclinic.backend.security.PasswordHashingService;
+import com.ibm.smartclinic.backend.service.IdentityService;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class LoginConnectionUsageTest {
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private UserIdentityRepository userIdentityRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @SpyBean
+    private PasswordHashingService passwordHashingService;
+
+    /** Pool connections in use each time BCrypt was entered. */
+    private final List<Integer> activeDuringHashing = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void recordActiveConnections() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        doAnswer(invocation -> {
+            activeDuringHashing.add(pool.getHikariPoolMXBean().getActiveConnections());
+            return invocation.callRealMethod();
+        }).when(passwordHashingService).matches(anyString(), anyString());
+        doAnswer(invocation -> {
+            activeDuringHashing.add(pool.getHikariPoolMXBean().getActiveConnections());
+            return invocation.callRealMethod();
+        }).when(passwordHashingService).encode(anyString());
+    }
+
+    @Test
+    void loginRequestHoldsNoConnectionWhileCheckingThePassword() throws Exception {
+        Patient patient = fixtures.createPatient("login.pool." + System.nanoTime() + "@clinic.test");
+        activeDuringHashing.clear();
+
+        mockMvc.perform(post("/api/patient/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + patient.getEmail() + "\",\"password\":\"" + ClinicFixtures.PASSWORD + "\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(activeDuringHashing).containsExactly(0);
+    }
+
+    @Test
+    void legacyPasswordIsUpgradedInItsOwnTransaction() {
+        Patient patient = fixtures.createPatient("login.legacy." + System.nanoTime() + "@clinic.test");
+        UserIdentity legacy = userIdentityRepository.findByEmail(patient.getEmail()).orElseThrow();
+        legacy.setPasswordHash("plain-secret");
+        userIdentityRepository.save(legacy);
+        activeDuringHashing.clear();
+
+        UserIdentity authenticated = identityService.authenticate(patient.getEmail(), "plain-secret", UserRole.PATIENT);
+
+        assertThat(activeDuringHashing).containsExactly(0, 0);
+        String stored = userIdentityRepository.findByEmail(patient.getEmail()).orElseThrow().getPasswordHash();
+        assertThat(stored).startsWith("$2").isEqualTo(authenticated.getPasswordHash());
+        assertThat(identityService.authenticate(patient.getEmail(), "plain-secret", UserRole.PATIENT).getId())
+                .isEqualTo(authenticated.getId());
+    }
+}
@@ -0,0 +1,115 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.security.TokenService;
+import com.ibm.smartclinic.backend.service.AvailabilityService;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class MetricsEndpointTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2037, 3, 3, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void prometheusEndpointExposesHotPathTimersWithPercentiles() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = fixtures.createDoctor("metrics.doctor." + suffix + "@clinic.test", "Cardiology");
+        Patient patient = fixtures.createPatient("metrics.patient." + suffix + "@clinic.test");
+
+        mockMvc.perform(post("/api/patient/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + patient.getEmail() + "\",\"password\":\"" + ClinicFixtures.PASSWORD + "\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/patient/profile").header("Authorization", "Bearer " + fixtures.tokenFor(patient)))
+                .andExpect(status().isOk());
+        fixtures.book(doctor, patient, SLOT);
+        availabilityService.getAvailableSlots(doctor.getId(), SLOT.toLocalDate());
+
+        ResponseEntity<String> response = restTemplate.getForEntity(url(managementPort, "/actuator/prometheus"), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String scrape = response.getBody();
+
+        assertThat(scrape)
+                .containsPattern("clinic_appointments_book_seconds\\{.*quantile=\"0\\.99\"")
+                .containsPattern("clinic_auth_authenticate_seconds\\{.*quantile=\"0\\.95\"")
+                .containsPattern("clinic_auth_token_parse_seconds\\{.*quantile=\"0\\.5\"")
+                .containsPattern("clinic_availability_lookup_seconds_count\\{.*method=\"getAvailableSlots\"")
+                .containsPattern("clinic_jdbc_repository_invocations_seconds_count\\{.*class=\"[\\w.]*AppointmentRollupRepository\"")
+                .containsPattern("spring_data_repository_invocations_seconds\\{.*quantile=\"0\\.99\"")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*status=\"200\".*uri=\"/api/patient/profile\"")
+                .contains("hikaricp_connections_active");
+    }
+
+    @Test
+    void managementPortServesMetricsWithoutAToken() {
+        assertThat(restTemplate.getForEntity(url(managementPort, "/actuator/metrics"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.getForEntity(url(managementPort, "/actuator/health"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void apiPortRefusesActuatorEvenWithAToken() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenService.generateToken("doctor@clinic.test", "DOCTOR"));
+        for (String path : new String[] {"/actuator/prometheus", "/actuator/metrics"}) {
+            assertThat(restTemplate.getForEntity(url(port, path), String.class).getStatusCode())
+                    .isEqualTo(HttpStatus.FORBIDDEN);
+            assertThat(restTemplate.exchange(url(port, path), HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    private static String url(int port, String path) {
+        return "http://localhost:" + port + path;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.smartclinic.backend.config.NativeRuntimeHints;
+import com.ibm.smartclinic.backend.exception.ApiError;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersEntitiesAndJsonTypesForReflection() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Appointment.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(UserIdentity.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ApiError.class)).accepts(hints);
+    }
+
+    @Test
+    void registersJjwtImplementationsAndServiceFiles() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+
+    @Test
+    void registersVendorMigrationsAndSwaggerUiAssets() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__init.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/vendor/mysql/V10__entity_id_sequences.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/resources/webjars/swagger-ui/5.13.0/index.html")).accepts(hints);
+    }
+}
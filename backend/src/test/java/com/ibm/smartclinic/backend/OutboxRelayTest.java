@@ -0,0 +1,207 @@
+package com.ibm.smartclinic.backend;
+
+import static com.ibm.smartclinic.backend.ClinicFixtures.booking;
+import static com.ibm.smartclinic.backend.ClinicFixtures.newAppointment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.smartclinic.backend.dto.AppointmentTransitionDto;
+import com.ibm.smartclinic.backend.dto.PrescriptionRequestDto;
+import com.ibm.smartclinic.backend.event.EventType;
+import com.ibm.smartclinic.backend.event.NdjsonFileEventSink;
+import com.ibm.smartclinic.backend.event.OutboxEvent;
+import com.ibm.smartclinic.backend.event.OutboxRelay;
+import com.ibm.smartclinic.backend.exception.ConflictException;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.AppointmentStatus;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.repository.OutboxRepository;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.PrescriptionService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class OutboxRelayTest {
+
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2036, 6, 2, 9, 0);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Test
+    void eventsAreRelayedOnceInPerDoctorOrder() {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = fixtures.createDoctor("outbox.doctor." + suffix + "@clinic.test", "Pediatrics");
+        Patient patient = fixtures.createPatient("outbox.patient." + suffix + "@clinic.test");
+
+        Appointment first = appointmentService.bookAppointment(newAppointment(doctor, patient, FIRST_SLOT));
+        appointmentService.bookAppointments(patient, List.of(
+                booking(doctor, FIRST_SLOT.plusHours(1)), booking(doctor, FIRST_SLOT.plusHours(2))));
+        assertThatThrownBy(() -> appointmentService.bookAppointment(newAppointment(doctor, patient, FIRST_SLOT)))
+                .isInstanceOf(ConflictException.class);
+        appointmentService.completeAppointment(first.getId(), doctor);
+        Long second = appointmentService.getAppointmentsForDoctorOnDate(doctor.getId(), FIRST_SLOT.toLocalDate()).stream()
+                .filter(appointment -> appointment.getStatus() == AppointmentStatus.BOOKED)
+                .findFirst().orElseThrow().getId();
+        appointmentService.transitionAppointments(doctor, List.of(
+                new AppointmentTransitionDto(second, AppointmentStatus.CANCELLED)));
+        prescriptionService.createPrescription(doctor, new PrescriptionRequestDto("Rest", first.getId()));
+
+        List<OutboxEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+        Runnable unsubscribe = relay.subscribe(delivered::addAll);
+        try {
+            relay.relayPending();
+            List<OutboxEvent> events = delivered.stream().filter(event -> event.doctorId() == doctor.getId()).toList();
+
+            assertThat(events).extracting(OutboxEvent::type).containsExactly(
+                    EventType.APPOINTMENT_BOOKED, EventType.APPOINTMENT_BOOKED, EventType.APPOINTMENT_BOOKED,
+                    EventType.APPOINTMENT_COMPLETED, EventType.APPOINTMENT_CANCELLED, EventType.PRESCRIPTION_ISSUED);
+            assertThat(events).extracting(OutboxEvent::doctorSequence).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+            assertThat(events.get(3).aggregateId()).isEqualTo(first.getId());
+
+            delivered.clear();
+            assertThat(relay.relayPending()).isZero();
+            assertThat(delivered).isEmpty();
+        } finally {
+            unsubscribe.run();
+        }
+    }
+
+    @Test
+    void concurrentWritersKeepEachDoctorsSequenceInDeliveryOrder() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = fixtures.createDoctor("outbox.concurrent.doctor." + suffix + "@clinic.test", "Pediatrics");
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            patients.add(fixtures.createPatient("outbox.concurrent.patient" + i + "." + suffix + "@clinic.test"));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(patients.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < patients.size(); t++) {
+                Patient patient = patients.get(t);
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10; i++) {
+                        // Different days per thread, so only the outbox partition lock is shared
+                        appointmentService.bookAppointment(newAppointment(doctor, patient,
+                                FIRST_SLOT.plusDays(7L * (thread + 1)).plusMinutes(15L * i)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<OutboxEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+        Runnable unsubscribe = relay.subscribe(delivered::addAll);
+        try {
+            relay.relayPending();
+        } finally {
+            unsubscribe.run();
+        }
+        List<Long> sequences = delivered.stream()
+                .filter(event -> event.doctorId() == doctor.getId())
+                .map(OutboxEvent::doctorSequence)
+                .toList();
+        assertThat(sequences).hasSize(40).isSorted().doesNotHaveDuplicates();
+        assertThat(sequences.get(0)).isEqualTo(1L);
+        assertThat(sequences.get(39)).isEqualTo(40L);
+    }
+
+    @Test
+    void onlyTheLeaseHolderRelays() {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = fixtures.createDoctor("outbox.lease.doctor." + suffix + "@clinic.test", "Pediatrics");
+        Patient patient = fixtures.createPatient("outbox.lease.patient." + suffix + "@clinic.test");
+        appointmentService.bookAppointment(newAppointment(doctor, patient, FIRST_SLOT.plusDays(60)));
+
+        List<OutboxEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+        Runnable unsubscribe = relay.subscribe(delivered::addAll);
+        try {
+            // Another replica is mid-run
+            assertThat(outboxRepository.acquireRelayLease("other-replica", 30)).isTrue();
+            try {
+                assertThat(relay.relayPending()).isZero();
+                assertThat(delivered).isEmpty();
+            } finally {
+                outboxRepository.releaseRelayLease("other-replica");
+            }
+
+            // A lease left behind by a replica that died is taken over once it expires
+            assertThat(outboxRepository.acquireRelayLease("dead-replica", -1)).isTrue();
+            relay.relayPending();
+            assertThat(delivered).filteredOn(event -> event.doctorId() == doctor.getId()).hasSize(1);
+
+            // The lease is released once the outbox is drained
+            assertThat(outboxRepository.acquireRelayLease("other-replica", 30)).isTrue();
+            outboxRepository.releaseRelayLease("other-replica");
+        } finally {
+            unsubscribe.run();
+        }
+    }
+
+    @Test
+    void fileSinkWritesOneJsonObjectPerLine(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("events.ndjson");
+        NdjsonFileEventSink sink = new NdjsonFileEventSink(objectMapper, file.toString());
+        try {
+            sink.publish(List.of(
+                    new OutboxEvent(1, 7, 1, EventType.APPOINTMENT_BOOKED, 11, "{\"appointmentId\":11}", FIRST_SLOT),
+                    new OutboxEvent(2, 7, 2, EventType.APPOINTMENT_CANCELLED, 11, "{\"appointmentId\":11}", FIRST_SLOT)));
+        } finally {
+            sink.close();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertThat(second.get("type").asText()).isEqualTo("APPOINTMENT_CANCELLED");
+        assertThat(second.get("doctorSequence").asLong()).isEqualTo(2);
+        assertThat(second.get("payload").get("appointmentId").asLong()).isEqualTo(11);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.smartclinic.backend.exception.ServiceOverloadedException;
+import com.ibm.smartclinic.backend.security.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void saturatedPoolRejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(
+                blockingEncoder(release), registry, 1, 1, Duration.ofSeconds(30), Duration.ofSeconds(3));
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+            while (registry.get("auth.hashing.queue.depth").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThatThrownBy(() -> service.matches("c", "hash"))
+                    .isInstanceOf(ServiceOverloadedException.class)
+                    .satisfies(ex -> assertThat(((ServiceOverloadedException) ex).getRetryAfter())
+                            .isEqualTo(Duration.ofSeconds(3)));
+            assertThat(registry.get("auth.hashing.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+        } finally {
+            release.countDown();
+            service.destroy();
+        }
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
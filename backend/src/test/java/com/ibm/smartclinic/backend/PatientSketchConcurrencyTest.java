@@ -0,0 +1,120 @@
+package com.ibm.smartclinic.backend;
+
+import static com.ibm.smartclinic.backend.ClinicFixtures.booking;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.repository.PatientSketchRepository;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.HyperLogLog;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class PatientSketchConcurrencyTest {
+
+    private static final int PATIENTS = 24;
+    private static final LocalDate DAY = LocalDate.of(2035, 6, 4);
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientSketchRepository sketchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentBookingsAllReachTheDailySketch() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = fixtures.createDoctor("sketch.doctor." + suffix + "@clinic.test", "Neurology");
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < PATIENTS; i++) {
+            patients.add(fixtures.createPatient("sketch.patient" + i + "." + suffix + "@clinic.test"));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(PATIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < PATIENTS; i++) {
+                Patient patient = patients.get(i);
+                int slot = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    appointmentService.bookAppointments(patient,
+                            List.of(booking(doctor, DAY.atTime(8, 0).plusMinutes(15L * slot))));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        HyperLogLog expected = new HyperLogLog();
+        patients.forEach(patient -> expected.add(patient.getId()));
+        assertThat(sketchRepository.findForUpdate(doctor.getId(), DAY)).hasValueSatisfying(
+                registers -> assertThat(registers).isEqualTo(expected.toBytes()));
+    }
+
+    @Test
+    void sketchReadWaitsForAConcurrentMergeAndSeesIt() throws Exception {
+        Doctor doctor = fixtures.createDoctor("sketch.lock." + System.nanoTime() + "@clinic.test", "Neurology");
+        HyperLogLog stored = new HyperLogLog();
+        stored.add(1);
+        sketchRepository.insert(doctor.getId(), DAY, stored.toBytes());
+        HyperLogLog merged = HyperLogLog.fromBytes(stored.toBytes());
+        merged.add(2);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            sketchRepository.update(doctor.getId(), DAY, merged.toBytes());
+            updated.countDown();
+            try {
+                commit.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(updated.await(30, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Optional<byte[]>> reader = CompletableFuture.supplyAsync(() ->
+                transaction.execute(status -> sketchRepository.findForUpdate(doctor.getId(), DAY)));
+        assertThatThrownBy(() -> reader.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        commit.countDown();
+        writer.get(30, TimeUnit.SECONDS);
+        assertThat(reader.get(30, TimeUnit.SECONDS)).hasValueSatisfying(
+                registers -> assertThat(registers).isEqualTo(merged.toBytes()));
+    }
+}
@@ -0,0 +1,103 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ibm.smartclinic.backend.dto.PrescriptionRequestDto;
+import com.ibm.smartclinic.backend.model.Appointment;
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
+import com.ibm.smartclinic.backend.service.AppointmentService;
+import com.ibm.smartclinic.backend.service.PrescriptionService;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class PrescriptionReadModelTest {
+
+    private static final int PRESCRIPTIONS = 3;
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String patientToken;
+    private String doctorName;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = fixtures.createDoctor("rx.doctor." + suffix + "@clinic.test", "Oncology");
+        doctorName = doctor.getName();
+        Patient patient = fixtures.createPatient("rx.patient." + suffix + "@clinic.test");
+        patientToken = fixtures.tokenFor(patient);
+
+        for (int i = 0; i < PRESCRIPTIONS; i++) {
+            Appointment booked = fixtures.book(doctor, patient, LocalDateTime.of(2032, 2, 1 + i, 10, 0));
+            appointmentService.completeAppointment(booked.getId(), doctor);
+            prescriptionService.createPrescription(doctor, new PrescriptionRequestDto("Dose " + i, booked.getId()));
+        }
+        // Requests resolve the principal from the cache; count only the listing itself
+        principalCache.resolve(patient.getEmail(), UserRole.PATIENT);
+    }
+
+    @Test
+    void basicListingIsOneStatementWithoutDetails() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/patient/prescriptions").header("Authorization", "Bearer " + patientToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PRESCRIPTIONS))
+                .andExpect(jsonPath("$[0].notes").value("Dose " + (PRESCRIPTIONS - 1)))
+                .andExpect(jsonPath("$[0].appointmentId").exists())
+                .andExpect(jsonPath("$[0].doctorName").doesNotExist())
+                .andExpect(jsonPath("$[0].appointmentTime").doesNotExist());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void detailedListingAddsDoctorAndDateInTheSameStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/prescriptions/patient").param("details", "true")
+                        .header("Authorization", "Bearer " + patientToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PRESCRIPTIONS))
+                .andExpect(jsonPath("$[0].doctorName").value(doctorName))
+                .andExpect(jsonPath("$[0].appointmentTime").value("2032-02-03T10:00:00"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
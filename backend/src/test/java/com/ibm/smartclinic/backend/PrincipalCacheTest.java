@@ -0,0 +1,151 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.UserIdentityRepository;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
+import com.ibm.smartclinic.backend.security.PrincipalCache.CachedPrincipal;
+import com.ibm.smartclinic.backend.service.IdentityService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class PrincipalCacheTest {
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private UserIdentityRepository userIdentityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void cacheHitSkipsTheDatabase() {
+        Patient patient = fixtures.createPatient(uniqueEmail("principal.hit"));
+        CachedPrincipal loaded = principalCache.resolve(patient.getEmail(), UserRole.PATIENT);
+
+        statistics.clear();
+        CachedPrincipal cached = principalCache.resolve(" " + patient.getEmail().toUpperCase() + " ", UserRole.PATIENT);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cached).isEqualTo(loaded);
+        assertThat(cached.entityId()).isEqualTo(patient.getId());
+    }
+
+    @Test
+    void cachedPrincipalsWithAnotherRoleOrInactiveAreRejected() {
+        Patient patient = fixtures.createPatient(uniqueEmail("principal.reject"));
+        principalCache.resolve(patient.getEmail(), UserRole.PATIENT);
+
+        statistics.clear();
+        assertThatThrownBy(() -> principalCache.resolve(patient.getEmail(), UserRole.DOCTOR))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("PATIENT");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        setActive(patient.getEmail(), false);
+        principalCache.evict(patient.getEmail());
+        assertThatThrownBy(() -> principalCache.resolve(patient.getEmail(), UserRole.PATIENT))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("inactive");
+
+        // The inactive entry is cached like any other and still refused on a hit
+        statistics.clear();
+        assertThatThrownBy(() -> principalCache.resolve(patient.getEmail(), UserRole.PATIENT))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("inactive");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void reactivationEvictsInsideTheChangingTransaction() {
+        Patient patient = fixtures.createPatient(uniqueEmail("principal.now"));
+        deactivateAndCache(patient.getEmail());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            identityService.provisionIdentity(patient.getEmail(), UserRole.PATIENT, ClinicFixtures.PASSWORD);
+
+            assertThat(principalCache.resolve(patient.getEmail(), UserRole.PATIENT).active()).isTrue();
+        });
+    }
+
+    @Test
+    void reactivationEvictsAgainAfterCommitOverAConcurrentStaleLoad() throws Exception {
+        Patient patient = fixtures.createPatient(uniqueEmail("principal.commit"));
+        deactivateAndCache(patient.getEmail());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            identityService.provisionIdentity(patient.getEmail(), UserRole.PATIENT, ClinicFixtures.PASSWORD);
+
+            // Another request sees the committed, still inactive row and caches it again
+            CompletableFuture<Throwable> concurrent = CompletableFuture.supplyAsync(() -> {
+                try {
+                    principalCache.resolve(patient.getEmail(), UserRole.PATIENT);
+                    return null;
+                } catch (AccessDeniedException e) {
+                    return e;
+                }
+            });
+            try {
+                assertThat(concurrent.get(30, TimeUnit.SECONDS)).isInstanceOf(AccessDeniedException.class);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(principalCache.resolve(patient.getEmail(), UserRole.PATIENT).active()).isTrue();
+    }
+
+    private void deactivateAndCache(String email) {
+        setActive(email, false);
+        principalCache.evict(email);
+        assertThatThrownBy(() -> principalCache.resolve(email, UserRole.PATIENT))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private void setActive(String email, boolean active) {
+        UserIdentity identity = userIdentityRepository.findByEmail(email).orElseThrow();
+        identity.setActive(active);
+        userIdentityRepository.save(identity);
+    }
+
+    private static String uniqueEmail(String prefix) {
+        return prefix + "." + System.nanoTime() + "@clinic.test";
+    }
+}
@@ -0,0 +1,73 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.ibm.smartclinic.backend.logging.RequestLoggingInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLoggingInterceptorTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLoggingInterceptor.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void generatesDistinctIdsAndKeepsClientSuppliedOnes() {
+        RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(1.0);
+
+        MockHttpServletResponse first = handle(interceptor, new MockHttpServletRequest("GET", "/api/doctors"), 200);
+        MockHttpServletResponse second = handle(interceptor, new MockHttpServletRequest("GET", "/api/doctors"), 200);
+        MockHttpServletRequest supplied = new MockHttpServletRequest("GET", "/api/doctors");
+        supplied.addHeader("X-Request-ID", "client-42");
+        MockHttpServletResponse third = handle(interceptor, supplied, 200);
+
+        assertThat(first.getHeader("X-Request-ID")).matches("[0-9a-f]{12}-[0-9a-f]+");
+        assertThat(second.getHeader("X-Request-ID")).isNotEqualTo(first.getHeader("X-Request-ID"));
+        assertThat(third.getHeader("X-Request-ID")).isEqualTo("client-42");
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list.get(2).getFormattedMessage()).matches("\\[client-42] GET /api/doctors -> 200 \\(\\d+ us\\)");
+        assertThat(MDC.get("requestId")).isNull();
+    }
+
+    @Test
+    void samplingDropsOnlySuccessfulResponses() {
+        RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(0.0);
+
+        handle(interceptor, new MockHttpServletRequest("GET", "/api/doctors"), 200);
+        handle(interceptor, new MockHttpServletRequest("POST", "/api/appointments"), 201);
+        handle(interceptor, new MockHttpServletRequest("GET", "/api/doctors/9"), 404);
+        handle(interceptor, new MockHttpServletRequest("POST", "/api/appointments"), 500);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .hasSize(2)
+                .anyMatch(line -> line.contains("-> 404"))
+                .anyMatch(line -> line.contains("-> 500"));
+    }
+
+    private MockHttpServletResponse handle(RequestLoggingInterceptor interceptor, MockHttpServletRequest request, int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, this);
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, this, null);
+        return response;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ibm.smartclinic.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ibm.smartclinic.backend.security.TokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TokenClaimsCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void entryExpiresAtTheTokenExpiryAndNotAfter() throws Exception {
+        TokenService service = new TokenService("claims-secret", 2_000, 100, registry);
+        String token = service.generateToken("claims.expiry@clinic.test", "PATIENT");
+
+        Claims claims = service.parseClaims(token);
+        assertThat(service.parseClaims(token)).isSameAs(claims);
+        assertThat(gets("hit")).isEqualTo(1);
+
+        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+        Duration expiresAfter = claimsCache(service).policy().expireVariably().orElseThrow()
+                .getExpiresAfter(digest(token)).orElseThrow();
+        assertThat(expiresAfter.toMillis()).isBetween(remainingMs - 200, remainingMs + 1);
+
+        Thread.sleep(Math.max(claims.getExpiration().getTime() - System.currentTimeMillis(), 0) + 50);
+
+        assertThatThrownBy(() -> service.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void failedVerificationsAreNeverCached() {
+        TokenService service = new TokenService("claims-secret", 60_000, 100, registry);
+        String foreign = new TokenService("other-secret", 60_000, 0, null)
+                .generateToken("claims.foreign@clinic.test", "PATIENT");
+        String expired = new TokenService("claims-secret", -60_000, 0, null)
+                .generateToken("claims.expired@clinic.test", "PATIENT");
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> service.parseClaims(foreign)).isInstanceOf(JwtException.class);
+            assertThatThrownBy(() -> service.parseClaims(expired)).isInstanceOf(ExpiredJwtException.class);
+        }
+
+        assertThat(gets("hit")).isZero();
+        assertThat(gets("miss")).isEqualTo(4);
+        assertThat(claimsCache(service).asMap()).isEmpty();
+    }
+
+    @Test
+    void entriesAreKeyedByTheTokenDigest() throws Exception {
+        TokenService service = new TokenService("claims-secret", 60_000, 100, registry);
+        String token = service.generateToken("claims.digest@clinic.test", "DOCTOR", 1L, 2L);
+
+        service.parseClaims(token);
+
+        assertThat(claimsCache(service).asMap().keySet())
+                .containsExactly(digest(token))
+                .doesNotContain(token);
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "jwt-claims").tag("result", result)
+                .functionCounter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<String, Claims> claimsCache(TokenService service) {
+        return (Cache<String, Claims>) ReflectionTestUtils.getField(service, "claimsCache");
+    }
+
+    private static String digest(String token) throws Exception {
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ibm.smartclinic.backend;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ibm.smartclinic.backend.model.Doctor;
+import com.ibm.smartclinic.backend.model.Patient;
+import com.ibm.smartclinic.backend.model.UserIdentity;
+import com.ibm.smartclinic.backend.model.UserRole;
+import com.ibm.smartclinic.backend.repository.UserIdentityRepository;
+import com.ibm.smartclinic.backend.security.PrincipalCache;
+import com.ibm.smartclinic.backend.security.TokenService;
+import com.ibm.smartclinic.backend.service.IdentityService;
+import com.ibm.smartclinic.backend.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ClinicFixtures.class)
+class TokenPrincipalTest {
+
+    @Autowired
+    private ClinicFixtures fixtures;
+
+    @Autowired
+    private UserIdentityRepository userIdentityRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void tokensWithAndWithoutIdClaimsResolveTheSamePatient() throws Exception {
+        String email = "token.patient@clinic.test";
+        UserIdentity identity = identityService.registerIdentity(email, "password", UserRole.PATIENT);
+        Patient patient = new Patient();
+        patient.setName("Token Patient");
+        patient.setEmail(email);
+        Patient saved = patientService.savePatient(patient);
+
+        String current = tokenService.generateToken(email, "PATIENT", identity.getId(), saved.getId());
+        String legacy = tokenService.generateToken(email, "PATIENT");
+
+        for (String token : new String[] {current, legacy}) {
+            mockMvc.perform(get("/api/patient/profile").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(saved.getId()))
+                    .andExpect(jsonPath("$.email").value(email));
+        }
+    }
+
+    @Test
+    void doctorProfileIsResolvedFromTheToken() throws Exception {
+        Doctor doctor = fixtures.createDoctor("token.me." + System.nanoTime() + "@clinic.test", "Cardiology");
+        UserIdentity identity = userIdentityRepository.findByEmail(doctor.getEmail()).orElseThrow();
+
+        String current = tokenService.generateToken(doctor.getEmail(), "DOCTOR", identity.getId(), doctor.getId());
+        String legacy = tokenService.generateToken(doctor.getEmail(), "DOCTOR");
+
+        for (String token : new String[] {current, legacy}) {
+            mockMvc.perform(get("/api/doctors/me").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(doctor.getId()))
+                    .andExpect(jsonPath("$.email").value(doctor.getEmail()))
+                    .andExpect(jsonPath("$.speciality").value("Cardiology"));
+        }
+    }
+
+    @Test
+    void deactivatedAccountIsRefusedDespiteItsIdClaims() throws Exception {
+        Patient patient = fixtures.createPatient("token.inactive." + System.nanoTime() + "@clinic.test");
+        UserIdentity identity = userIdentityRepository.findByEmail(patient.getEmail()).orElseThrow();
+        String token = tokenService.generateToken(patient.getEmail(), "PATIENT", identity.getId(), patient.getId());
+        mockMvc.perform(get("/api/patient/profile").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        identity.setActive(false);
+        userIdentityRepository.save(identity);
+        principalCache.evict(patient.getEmail());
+
+        mockMvc.perform(get("/api/patient/profile").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("ACCESS_DENIED"));
+    }
+}
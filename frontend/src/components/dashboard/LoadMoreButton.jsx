@@ -0,0 +1,19 @@
+import React from "react";
+
+export default function LoadMoreButton({ hasMore, loading, onClick }) {
+  if (!hasMore) {
+    return null;
+  }
+  return (
+    <div className="mt-4 flex justify-center">
+      <button
+        type="button"
+        disabled={loading}
+        onClick={onClick}
+        className="rounded-full border border-slate-300 px-4 py-1.5 text-xs font-semibold text-slate-700 disabled:opacity-50"
+      >
+        {loading ? "Loading..." : "Load more"}
+      </button>
+    </div>
+  );
+}
@@ -0,0 +1,86 @@
+import { useCallback, useEffect, useRef, useState } from "react";
+import { useAuth } from "../context/AuthContext";
+
+// Loads the first page of a history listing and appends further pages only when asked to.
+// loadPage(page) resolves to { rows, hasNext }.
+export function usePagedResource(loadPage, { dependencies = [], enabled = true, requireAuth = true } = {}) {
+  const { isAuthenticated, token } = useAuth();
+  const hasAuth = !requireAuth || (isAuthenticated && Boolean(token));
+  const isActive = Boolean(enabled && hasAuth);
+  const memoizedLoader = useCallback(loadPage, dependencies);
+  const [data, setData] = useState(null);
+  const [hasMore, setHasMore] = useState(false);
+  const [loading, setLoading] = useState(() => isActive);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [error, setError] = useState(null);
+  const nextPage = useRef(0);
+  // Discards pages that arrive after a newer refresh started
+  const generation = useRef(0);
+
+  const refresh = useCallback(async () => {
+    if (!isActive) {
+      return null;
+    }
+    const current = ++generation.current;
+    setLoading(true);
+    setError(null);
+    try {
+      const { rows, hasNext } = await memoizedLoader(0);
+      if (current === generation.current) {
+        nextPage.current = 1;
+        setData(rows);
+        setHasMore(hasNext);
+      }
+      return rows;
+    } catch (err) {
+      if (current === generation.current) {
+        setError(err);
+      }
+      throw err;
+    } finally {
+      if (current === generation.current) {
+        setLoading(false);
+      }
+    }
+  }, [isActive, memoizedLoader]);
+
+  const loadMore = useCallback(async () => {
+    if (!isActive || loadingMore || !hasMore) {
+      return;
+    }
+    const current = generation.current;
+    setLoadingMore(true);
+    setError(null);
+    try {
+      const { rows, hasNext } = await memoizedLoader(nextPage.current);
+      if (current === generation.current) {
+        nextPage.current += 1;
+        setData((previous) => [...(previous ?? []), ...rows]);
+        setHasMore(hasNext);
+      }
+    } catch (err) {
+      if (current === generation.current) {
+        setError(err);
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [isActive, loadingMore, hasMore, memoizedLoader]);
+
+  useEffect(() => {
+    if (!isActive) {
+      generation.current += 1;
+      setLoading(false);
+      setError(null);
+      setData(null);
+      setHasMore(false);
+      return undefined;
+    }
+    refresh().catch(() => {});
+    return () => {
+      generation.current += 1;
+    };
+  }, [refresh, isActive]);
+
+  return { data, loading, loadingMore, error, hasMore, loadMore, refresh };
+}
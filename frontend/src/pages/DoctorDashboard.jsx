@@ -1,7 +1,9 @@
 import React, { useMemo, useState } from "react";
 import Navbar from "../components/Navbar";
+import LoadMoreButton from "../components/dashboard/LoadMoreButton";
 import SectionCard from "../components/dashboard/SectionCard";
 import { useApiResource } from "../hooks/useApiResource";
+import { usePagedResource } from "../hooks/usePagedResource";
 import {
   cancelAppointment,
   completeAppointment,
@@ -104,14 +106,20 @@ export default function DoctorDashboard() {
     loading: prescriptionsLoading,
     error: prescriptionsError,
     refresh: refreshPrescriptions,
-  } = useApiResource(fetchDoctorPrescriptions);
+    hasMore: prescriptionsHasMore,
+    loadingMore: prescriptionsLoadingMore,
+    loadMore: loadMorePrescriptions,
+  } = usePagedResource(fetchDoctorPrescriptions);
 
   const {
     data: appointments,
     loading: appointmentsLoading,
     error: appointmentsError,
     refresh: refreshAppointments,
-  } = useApiResource(fetchDoctorAppointments);
+    hasMore: appointmentsHasMore,
+    loadingMore: appointmentsLoadingMore,
+    loadMore: loadMoreAppointments,
+  } = usePagedResource(fetchDoctorAppointments);
 
   const prescriptionStats = useMemo(() => {
     if (!prescriptions) {
@@ -292,6 +300,11 @@ export default function DoctorDashboard() {
                 <PrescriptionCard key={item.id} prescription={item} />
               ))}
             </div>
+            <LoadMoreButton
+              hasMore={prescriptionsHasMore}
+              loading={prescriptionsLoadingMore}
+              onClick={loadMorePrescriptions}
+            />
           </SectionCard>
 
           <SectionCard
@@ -365,6 +378,11 @@ export default function DoctorDashboard() {
                 );
               })}
             </div>
+            <LoadMoreButton
+              hasMore={appointmentsHasMore}
+              loading={appointmentsLoadingMore}
+              onClick={loadMoreAppointments}
+            />
             <div className="mt-4">
               <FeedbackBanner state={actionFeedback} />
             </div>
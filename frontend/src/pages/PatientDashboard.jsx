@@ -1,8 +1,10 @@
 import React, { useEffect, useMemo, useState } from "react";
 import Navbar from "../components/Navbar";
+import LoadMoreButton from "../components/dashboard/LoadMoreButton";
 import SectionCard from "../components/dashboard/SectionCard";
 import { useAuth } from "../context/AuthContext";
 import { useApiResource } from "../hooks/useApiResource";
+import { usePagedResource } from "../hooks/usePagedResource";
 import {
   bookPatientAppointment,
   fetchDoctors,
@@ -167,13 +169,19 @@ export default function PatientDashboard() {
     loading: appointmentsLoading,
     error: appointmentsError,
     refresh: refreshAppointments,
-  } = useApiResource(fetchPatientAppointments);
+    hasMore: appointmentsHasMore,
+    loadingMore: appointmentsLoadingMore,
+    loadMore: loadMoreAppointments,
+  } = usePagedResource(fetchPatientAppointments);
 
   const {
     data: prescriptions,
     loading: prescriptionsLoading,
     error: prescriptionsError,
-  } = useApiResource(fetchPatientPrescriptions);
+    hasMore: prescriptionsHasMore,
+    loadingMore: prescriptionsLoadingMore,
+    loadMore: loadMorePrescriptions,
+  } = usePagedResource(fetchPatientPrescriptions);
 
   const selectedDoctor = useMemo(() => {
     if (!doctors || !selectedDoctorId) {
@@ -391,6 +399,11 @@ export default function PatientDashboard() {
               <AppointmentCard key={appointment.id} appointment={appointment} />
             ))}
           </div>
+          <LoadMoreButton
+            hasMore={appointmentsHasMore}
+            loading={appointmentsLoadingMore}
+            onClick={loadMoreAppointments}
+          />
         </SectionCard>
 
         <SectionCard
@@ -409,6 +422,11 @@ export default function PatientDashboard() {
               <PrescriptionCard key={prescription.id} prescription={prescription} />
             ))}
           </div>
+          <LoadMoreButton
+            hasMore={prescriptionsHasMore}
+            loading={prescriptionsLoadingMore}
+            onClick={loadMorePrescriptions}
+          />
         </SectionCard>
       </div>
     </div>
@@ -45,4 +45,16 @@ api.interceptors.response.use(
   }
 );
 
+// History endpoints answer one page at a time and set X-Has-Next while more rows follow. Pages are
+// requested as the user asks for more rather than walking the whole history up front.
+export const HISTORY_PAGE_SIZE = 100;
+
+export async function fetchPage(url, page = 0) {
+  const response = await api.get(url, { params: { page, size: HISTORY_PAGE_SIZE } });
+  return {
+    rows: response.data ?? [],
+    hasNext: response.headers?.["x-has-next"] === "true",
+  };
+}
+
 export default api;
@@ -1,4 +1,4 @@
-import api from "./api";
+import api, { fetchPage } from "./api";
 
 function toError(error, fallbackMessage) {
   const backendMessage = error?.response?.data?.message;
@@ -27,19 +27,17 @@ export async function fetchDoctorProfile() {
   }
 }
 
-export async function fetchDoctorAppointments() {
+export async function fetchDoctorAppointments(page = 0) {
   try {
-    const response = await api.get("/appointments/doctor");
-    return response.data ?? [];
+    return await fetchPage("/appointments/doctor", page);
   } catch (error) {
     throw toError(error, "Unable to load appointments.");
   }
 }
 
-export async function fetchDoctorPrescriptions() {
+export async function fetchDoctorPrescriptions(page = 0) {
   try {
-    const response = await api.get("/prescriptions/doctor");
-    return response.data ?? [];
+    return await fetchPage("/prescriptions/doctor", page);
   } catch (error) {
     throw toError(error, "Unable to load prescriptions.");
   }
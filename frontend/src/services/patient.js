@@ -1,4 +1,4 @@
-import api from "./api";
+import api, { fetchPage } from "./api";
 
 function toError(error, fallbackMessage) {
   const backendMessage = error?.response?.data?.message;
@@ -36,10 +36,9 @@ export async function fetchPatientProfile() {
   }
 }
 
-export async function fetchPatientAppointments() {
+export async function fetchPatientAppointments(page = 0) {
   try {
-    const response = await api.get("/patient/appointments");
-    return response.data ?? [];
+    return await fetchPage("/patient/appointments", page);
   } catch (error) {
     throw toError(error, "Unable to load appointments.");
   }
@@ -59,10 +58,9 @@ export async function bookPatientAppointment({ doctorId, appointmentTime }) {
   }
 }
 
-export async function fetchPatientPrescriptions() {
+export async function fetchPatientPrescriptions(page = 0) {
   try {
-    const response = await api.get("/prescriptions/patient");
-    return response.data ?? [];
+    return await fetchPage("/prescriptions/patient", page);
   } catch (error) {
     throw toError(error, "Unable to load prescriptions.");
   }